@@ -0,0 +1,30 @@
+package com.language_proximity;
+
+import com.language_proximity.service.DataManager;
+import com.language_proximity.service.HttpApi;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// Headless HTTP API: loads one mode, follows pipeline rewrites of data/ and serves it until the process is stopped.
+//   java -cp ... com.language_proximity.ApiServer [--mode lexical|phonetic] [--port 8080]
+// The Swing app serves the mode it is showing instead when started with -Dlanguage_proximity.http.port=<port>.
+public class ApiServer {
+    public static void main(String[] args) throws IOException {
+        String mode = "_lexical";
+        int port = 8080;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--mode")) mode = "_" + args[i + 1].toLowerCase(Locale.ROOT).replace("_", "");
+            else if (args[i].equals("--port")) port = Integer.parseInt(args[i + 1]);
+        }
+
+        System.setProperty("language_proximity.preload", "false");
+        DataManager dm = new DataManager();
+        dm.switchMode(mode);
+        dm.watchDataDirectory(s -> System.out.println("Reloaded " + s.getSuffix().substring(1) + " data"));
+
+        HttpApi api = new HttpApi(dm::getSnapshot, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> { api.stop(); dm.shutdown(); }));
+        api.start();
+    }
+}
@@ -1,5 +1,7 @@
 package com.language_proximity;
 
+import com.language_proximity.utils.EdtMonitor;
+
 import javax.swing.*;
 
 public class App {
@@ -11,6 +13,7 @@ public class App {
                 System.err.println("FlatLaf not found, using default.");
             }
             System.setProperty("org.graphstream.ui", "swing");
+            EdtMonitor.install();
 
             new MainWindow();
         });
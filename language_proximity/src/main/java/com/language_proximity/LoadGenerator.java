@@ -0,0 +1,130 @@
+package com.language_proximity;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local load generator for the HTTP API. Workers replay a request mix (given paths, or one built from the served
+// languages) for a fixed time and report throughput and latency percentiles. With --rate the requests follow a fixed
+// schedule and latency is measured from the scheduled start, so a stalled server is not hidden by a stalled client.
+//   java -cp ... com.language_proximity.LoadGenerator [--url http://localhost:8080] [--threads 8] [--seconds 10]
+//        [--warmup 2] [--rate <requests/s>] [path ...]
+public class LoadGenerator {
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int threads = 8;
+        double seconds = 10, warmup = 2, rate = 0;
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url": url = args[++i]; break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--warmup": warmup = Double.parseDouble(args[++i]); break;
+                case "--rate": rate = Double.parseDouble(args[++i]); break;
+                default: paths.add(args[i]);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        if (paths.isEmpty()) paths = defaultMix(client, url);
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String p : paths) requests.add(HttpRequest.newBuilder(URI.create(url + p)).GET().build());
+        System.out.println(requests.size() + " distinct requests, " + threads + " threads"
+                + (rate > 0 ? ", " + (int) rate + " req/s" : ", unthrottled"));
+
+        run(client, requests, threads, warmup, rate, false);
+        long[][] latencies = run(client, requests, threads, seconds, rate, true);
+        report(latencies, seconds);
+    }
+
+    // Each worker returns its latencies in nanoseconds; errors and non-200 responses are counted as negative values
+    private static long[][] run(HttpClient client, List<HttpRequest> requests, int threads, double seconds, double rate,
+                                boolean record) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime(), end = start + (long) (seconds * 1e9);
+        long interval = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int w = 0; w < threads; w++) {
+            int worker = w;
+            futures.add(pool.submit(() -> {
+                long[] lat = new long[1 << 16];
+                int n = 0;
+                Random rnd = new Random(worker);
+                long next = start + (interval * worker) / threads;
+                while (true) {
+                    long begin = System.nanoTime();
+                    if (interval > 0) {
+                        if (next >= end) break;
+                        while ((begin = System.nanoTime()) < next) LockSupport.parkNanos(next - begin);
+                        begin = next;
+                        next += interval;
+                    } else if (begin >= end) break;
+                    long took;
+                    try {
+                        HttpResponse<byte[]> r = client.send(requests.get(rnd.nextInt(requests.size())), HttpResponse.BodyHandlers.ofByteArray());
+                        took = System.nanoTime() - begin;
+                        if (r.statusCode() != 200) took = -took;
+                    } catch (IOException e) {
+                        took = -(System.nanoTime() - begin);
+                    }
+                    if (!record) continue;
+                    if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                    lat[n++] = took;
+                }
+                return Arrays.copyOf(lat, n);
+            }));
+        }
+        long[][] out = new long[threads][];
+        for (int w = 0; w < threads; w++) out[w] = futures.get(w).get();
+        pool.shutdown();
+        return out;
+    }
+
+    private static void report(long[][] latencies, double seconds) {
+        int total = 0, errors = 0;
+        for (long[] l : latencies) total += l.length;
+        long[] all = new long[total];
+        int k = 0;
+        for (long[] l : latencies) for (long v : l) { if (v < 0) { errors++; v = -v; } all[k++] = v; }
+        Arrays.sort(all);
+        System.out.printf(Locale.ROOT, "requests: %d in %.1f s = %.0f req/s, errors: %d%n", total, seconds, total / seconds, errors);
+        if (total == 0) return;
+        System.out.printf(Locale.ROOT, "latency ms: p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f%n",
+                pct(all, 0.50), pct(all, 0.90), pct(all, 0.99), pct(all, 0.999), all[total - 1] / 1e6);
+    }
+
+    private static double pct(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    // Similarity and closest-language lookups for every served language, pair outliers and the global communities
+    private static List<String> defaultMix(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpResponse<String> r = client.send(HttpRequest.newBuilder(URI.create(url + "/communities")).GET().build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (r.statusCode() != 200) throw new IOException("GET /communities returned " + r.statusCode() + ": " + r.body());
+        List<String> langs = new ArrayList<>();
+        Matcher m = Pattern.compile("\"language\":\"([^\"]+)\"").matcher(r.body());
+        while (m.find()) langs.add(URLEncoder.encode(m.group(1), StandardCharsets.UTF_8));
+
+        List<String> paths = new ArrayList<>(List.of("/communities", "/matrix", "/health"));
+        for (String a : langs) {
+            paths.add("/closest?lang=" + a);
+            for (String b : langs) {
+                if (a.compareTo(b) >= 0) continue;
+                paths.add("/similarity?lang1=" + a + "&lang2=" + b);
+                paths.add("/outliers?lang1=" + a + "&lang2=" + b + "&n=5");
+            }
+        }
+        return paths;
+    }
+}
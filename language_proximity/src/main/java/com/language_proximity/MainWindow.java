@@ -1,13 +1,17 @@
 package com.language_proximity;
 
-import com.language_proximity.model.TopicOutlierRecord;
-import com.language_proximity.model.WordOutlierRecord;
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
 import com.language_proximity.service.DataManager;
+import com.language_proximity.service.HttpApi;
+import com.language_proximity.service.LoadTask;
 import com.language_proximity.ui.panels.CommunityVisualPanel;
 import com.language_proximity.ui.panels.HeatmapPanel;
 import com.language_proximity.ui.panels.TopicOutlierPanel;
 import com.language_proximity.ui.panels.WordOutlierPanel;
 import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.Latency;
 import com.language_proximity.utils.UIUtils;
 import org.graphstream.graph.Edge;
 import org.graphstream.graph.Graph;
@@ -18,11 +22,18 @@ import org.graphstream.ui.swing_viewer.ViewPanel;
 import org.graphstream.ui.view.Viewer;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
 public class MainWindow {
 
@@ -41,21 +52,47 @@ public class MainWindow {
     private JComboBox<String> topicSelector;
     private JSlider thresholdSlider;
     private JLabel sliderLabel;
+    private JProgressBar loadProgress;
+
+    // Snapshot the panels currently show; replaced on the EDT as a load delivers files
+    private DatasetSnapshot shown = DatasetSnapshot.EMPTY;
+    private LoadTask currentLoad;
+
+    private LanguageRegistry edgeRegistry;
+    private Edge[] edgeIndex = new Edge[0];
+
+    // Edges of the current scope in ascending similarity order with their band class and label precomputed,
+    // so a threshold change only restyles the range between the old and the new threshold
+    private Edge[] sortedEdges = new Edge[0];
+    private double[] sortedSims = new double[0];
+    private String[] sortedClasses = new String[0], sortedLabels = new String[0];
+
+    // Class and label last applied to each graph edge (by edge index), so unchanged edges are never touched
+    private String[] appliedClasses = new String[0], appliedLabels = new String[0];
+    private static final String[] SIM_LABELS = new String[101];
+    static {
+        for (int i = 0; i <= 100; i++) SIM_LABELS[i] = String.format("%.2f", i / 100.0);
+    }
+    private double appliedThreshold;
+    private Timer thresholdTimer;
 
     public MainWindow() {
         dataManager = new DataManager();
-        dataManager.reloadAllData(currentSuffix);
+        dataManager.setEmptyDataWarning(() -> SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                "CRITICAL WARNING: No data loaded.\n\n" +
+                        "Ensure 'data' folder is in the project root directory\n" +
+                        "and filenames match pattern: *_lexical.csv / *_phonetic.csv",
+                "Data Load Error", JOptionPane.ERROR_MESSAGE)));
 
         // Setup Graph
         graph = new SingleGraph("Language Proximity");
         graph.setAttribute("ui.stylesheet", Constants.GRAPH_STYLE_SHEET);
-        buildGraphNodes();
 
         // Setup Panels
         heatmapPanel = new HeatmapPanel();
         wordOutlierPanel = new WordOutlierPanel();
         topicOutlierPanel = new TopicOutlierPanel();
-        communityVisualPanel = new CommunityVisualPanel();
+        communityVisualPanel = new CommunityVisualPanel(dataManager.getCommunities());
 
         // Setup Frame
         JFrame mainFrame = new JFrame("Language Proximity Explorer");
@@ -85,8 +122,85 @@ public class MainWindow {
         mainTabs.addTab(" 5. Communities & Clusters ", communityVisualPanel);
 
         mainFrame.add(mainTabs, BorderLayout.CENTER);
+
+        // Hidden diagnostics: Ctrl+Shift+D prints the latency percentiles and shows them in a dialog
+        mainFrame.getRootPane().registerKeyboardAction(e -> showDiagnostics(mainFrame),
+                KeyStroke.getKeyStroke(KeyEvent.VK_D, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
         updateGraph();
         mainFrame.setVisible(true);
+        startLoad(currentSuffix);
+
+        // Results rewritten by the pipeline refresh the open tabs in place, keeping the selected topic
+        dataManager.watchDataDirectory(s -> SwingUtilities.invokeLater(() -> {
+            if (currentLoad == null && s.getSuffix().equals(currentSuffix)) show(s);
+        }));
+
+        // Optional HTTP API serving whichever mode the window is showing
+        Integer port = Integer.getInteger("language_proximity.http.port");
+        if (port != null) {
+            try {
+                new HttpApi(dataManager::getSnapshot, port).start();
+            } catch (IOException e) {
+                System.err.println("Cannot start HTTP API on port " + port + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void showDiagnostics(JFrame owner) {
+        String report = Latency.report();
+        System.out.print(report);
+        JTextArea text = new JTextArea(report);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+        JScrollPane scroll = new JScrollPane(text);
+        scroll.setPreferredSize(new Dimension(900, 420));
+        JOptionPane.showMessageDialog(owner, scroll, "Latency (ms)", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    // Loads run off the EDT: every finished file refreshes the tabs it feeds, and a newer mode switch cancels the older load
+    private void startLoad(String suffix) {
+        loadProgress.setValue(0);
+        loadProgress.setString("Loading " + suffix.substring(1) + " data...");
+        loadProgress.setVisible(true);
+
+        LoadTask task = dataManager.switchModeAsync(suffix, (t, partial, file, done, total) -> SwingUtilities.invokeLater(() -> {
+            if (t != currentLoad) return;
+            loadProgress.setMaximum(total);
+            loadProgress.setValue(done);
+            loadProgress.setString(String.format("Loaded %s (%d/%d)", file, done, total));
+            showFile(partial, file);
+        }));
+        currentLoad = task;
+
+        task.getResult().whenComplete((data, err) -> SwingUtilities.invokeLater(() -> {
+            if (task != currentLoad) return;
+            currentLoad = null;
+            loadProgress.setVisible(false);
+            Throwable cause = err instanceof CompletionException ? err.getCause() : err;
+            if (data != null) show(data);
+            else if (!(cause instanceof CancellationException)) System.err.println("Loading " + suffix + " failed: " + cause);
+        }));
+    }
+
+    private void show(DatasetSnapshot data) {
+        shown = data;
+        updateTopicSelector();
+        updateGraph();
+    }
+
+    // A partial snapshot only refreshes the views fed by the file that just arrived; the topic selector and the
+    // rest follow with the full show() once the load completes. A binary snapshot arrives whole and waits for that too.
+    private void showFile(DatasetSnapshot partial, String file) {
+        shown = partial;
+        String topic = selectedTopic();
+        boolean global = "Global".equals(topic);
+        if (file.startsWith("language_proximity_global")) { if (global) updateScope(topic); }
+        else if (file.startsWith("language_proximity_by_topic")) { if (!global) updateScope(topic); updateTopicTree(topic); }
+        else if (file.startsWith("outliers_words")) updateWordOutliers(topic);
+        else if (file.startsWith("outliers_topics")) updateTopicOutliers(topic);
+        else if (file.startsWith("language_communities")) updateLanguageClusters(topic, scopedMatrix(topic));
+        else if (file.startsWith("topic_communities")) updateTopicTree(topic);
     }
 
     private JPanel createControlPanel() {
@@ -109,10 +223,22 @@ public class MainWindow {
         JPanel center = new JPanel(new BorderLayout());
         center.add(sliderLabel, BorderLayout.NORTH); center.add(thresholdSlider, BorderLayout.CENTER);
 
-        p.add(left, BorderLayout.WEST); p.add(center, BorderLayout.CENTER);
+        loadProgress = new JProgressBar();
+        loadProgress.setStringPainted(true);
+        loadProgress.setPreferredSize(new Dimension(320, 22));
+        loadProgress.setVisible(false);
+
+        p.add(left, BorderLayout.WEST); p.add(center, BorderLayout.CENTER); p.add(loadProgress, BorderLayout.EAST);
+
+        // Drag events are coalesced to at most one restyle per frame
+        thresholdTimer = new Timer(16, e -> Latency.time("view.threshold", () -> applyThreshold(thresholdSlider.getValue() / 100.0)));
+        thresholdTimer.setRepeats(false);
 
         topicSelector.addActionListener(e -> updateGraph());
-        thresholdSlider.addChangeListener(e -> updateGraph());
+        thresholdSlider.addChangeListener(e -> {
+            sliderLabel.setText(String.format("Min Edge Sim: %.2f", thresholdSlider.getValue() / 100.0));
+            if (!thresholdTimer.isRunning()) thresholdTimer.start();
+        });
 
         modeSelector.addActionListener(e -> {
             String selected = (String) modeSelector.getSelectedItem();
@@ -120,9 +246,7 @@ public class MainWindow {
             else currentSuffix = "_phonetic";
 
             System.out.println("Switching mode to: " + currentSuffix);
-            dataManager.reloadAllData(currentSuffix);
-            updateTopicSelector();
-            updateGraph();
+            startLoad(currentSuffix);
         });
 
         return p;
@@ -132,19 +256,21 @@ public class MainWindow {
         Object current = topicSelector.getSelectedItem();
         Vector<String> topics = new Vector<>();
         topics.add("Global");
-        dataManager.getTopicProximityData().keySet().stream().sorted().forEach(topics::add);
+        shown.getTopicMatrices().keySet().stream().sorted().forEach(topics::add);
+        if (topicSelector.getItemCount() == topics.size() && current != null) {
+            boolean same = true;
+            for (int i = 0; i < topics.size() && same; i++) same = topics.get(i).equals(topicSelector.getItemAt(i));
+            if (same) return;
+        }
         topicSelector.setModel(new DefaultComboBoxModel<>(topics));
         if (current != null && topics.contains(current)) topicSelector.setSelectedItem(current);
         else topicSelector.setSelectedIndex(0);
     }
 
     private void buildGraphNodes() {
-        Set<String> nodesFromData = new HashSet<>();
-        dataManager.getGlobalProximityData().keySet().forEach(k -> Collections.addAll(nodesFromData, k.split("_")));
-        dataManager.getTopicProximityData().values().forEach(m ->
-                m.keySet().forEach(k -> Collections.addAll(nodesFromData, k.split("_")))
-        );
-        for(String langCode : nodesFromData) {
+        LanguageRegistry languages = shown.getLanguages();
+        for (int i = 0; i < languages.size(); i++) {
+            String langCode = languages.code(i);
             if(graph.getNode(langCode) == null) {
                 Node n = graph.addNode(langCode);
                 n.setAttribute("ui.label", Constants.getFullLangName(langCode));
@@ -152,66 +278,153 @@ public class MainWindow {
         }
     }
 
-    private void updateGraph() {
+    private String selectedTopic() {
         String selected = (String) topicSelector.getSelectedItem();
-        final String topic = (selected == null) ? "Global" : selected;
+        return selected == null ? "Global" : selected;
+    }
+
+    private void updateGraph() {
+        String topic = selectedTopic();
+        updateScope(topic);
+        updateWordOutliers(topic);
+        updateTopicOutliers(topic);
+        updateTopicTree(topic);
+    }
 
+    private LanguageMatrix scopedMatrix(String topic) {
+        LanguageMatrix scoped = "Global".equals(topic) ? shown.getGlobalMatrix() : shown.getTopicMatrices().get(topic);
+        return scoped != null ? scoped : LanguageMatrix.empty(shown.getLanguages());
+    }
+
+    // Views drawn from the scope's similarity matrix: graph edges, heatmap and language clusters
+    private void updateScope(String topic) {
         double threshold = thresholdSlider.getValue() / 100.0;
         sliderLabel.setText(String.format("Min Edge Sim: %.2f", threshold));
+        thresholdTimer.stop();
+
+        LanguageMatrix currentData = scopedMatrix(topic);
+        buildGraphNodes();
+        Latency.time("view.graphEdges", () -> updateGraphEdges(currentData, threshold));
+        Latency.time("view.heatmap", () -> heatmapPanel.updateData(currentData));
+        updateLanguageClusters(topic, currentData);
+    }
+
+    private void updateWordOutliers(String topic) {
+        DatasetSnapshot data = shown;
+        Latency.time("view.wordOutliers", () -> wordOutlierPanel.updateData(data.getWordOutliers(topic)));
+    }
 
-        Map<String, Double> currentData = "Global".equals(topic) ? dataManager.getGlobalProximityData() : dataManager.getTopicProximityData().get(topic);
-        if (currentData == null) currentData = new HashMap<>();
+    private void updateTopicOutliers(String topic) {
+        DatasetSnapshot data = shown;
+        Latency.time("view.topicOutliers", () -> topicOutlierPanel.updateData(data.getTopicOutliers(), topic));
+    }
+
+    private void updateLanguageClusters(String topic, LanguageMatrix currentData) {
+        Map<String, Integer> comms = shown.getLanguageCommunityData().get(topic);
+        Latency.time("view.communities", () -> communityVisualPanel.updateLanguageClusters(topic, comms, currentData));
+    }
 
-        updateGraphEdges(currentData, threshold);
-        heatmapPanel.updateData(currentData);
+    private void updateTopicTree(String topic) {
+        DatasetSnapshot data = shown;
+        Latency.time("view.topicTree", () -> communityVisualPanel.updateTopicTree(topic, data.getMetaClusterMembers(), data.getTopicMatrices()));
+    }
 
-        List<WordOutlierRecord> words = "Global".equals(topic) ?
-                dataManager.getWordOutlierData().values().stream().flatMap(List::stream).collect(Collectors.toList()) :
-                dataManager.getWordOutlierData().getOrDefault(topic, Collections.emptyList());
-        wordOutlierPanel.updateData(words);
+    private void updateGraphEdges(LanguageMatrix data, double threshold) {
+        LanguageRegistry reg = data.getRegistry();
+        int n = data.pairCount();
+        Edge[] edges = new Edge[n];
+        double[] sims = new double[n];
+        Integer[] order = new Integer[n];
+        int[] count = {0};
+        data.forEachPair((i, j, sim) -> {
+            Edge e = edgeFor(reg, i, j);
+            if (e == null) return;
+            edges[count[0]] = e; sims[count[0]] = sim; order[count[0]] = count[0]++;
+        });
+        Arrays.sort(order, 0, count[0], Comparator.comparingDouble(o -> sims[o]));
+
+        sortedEdges = new Edge[count[0]]; sortedSims = new double[count[0]];
+        sortedClasses = new String[count[0]]; sortedLabels = new String[count[0]];
+        for (int k = 0; k < count[0]; k++) {
+            double sim = sims[order[k]];
+            sortedEdges[k] = edges[order[k]]; sortedSims[k] = sim;
+            sortedClasses[k] = sim > 0.90 ? "sim90" : sim > 0.75 ? "sim75" : sim > 0.60 ? "sim60" : sim > 0.45 ? "sim45" : "sim0";
+            sortedLabels[k] = simLabel(sim);
+        }
 
-        List<TopicOutlierRecord> topics = dataManager.getTopicOutlierData();
-        if (!"Global".equals(topic)) {
-            topics = dataManager.getTopicOutlierData().stream().filter(t -> t.topic.equals(topic)).collect(Collectors.toList());
+        // Target state: everything hidden except scope edges at or above the threshold; only differences are applied
+        String[] classes = new String[graph.getEdgeCount()], labels = new String[classes.length];
+        Arrays.fill(classes, "filtered");
+        for (int k = firstAtOrAbove(threshold); k < sortedEdges.length; k++) {
+            int idx = sortedEdges[k].getIndex();
+            classes[idx] = sortedClasses[k]; labels[idx] = sortedLabels[k];
         }
+        for (int idx = 0; idx < classes.length; idx++) applyEdge(graph.getEdge(idx), classes[idx], labels[idx]);
+        appliedThreshold = threshold;
+    }
 
-        topicOutlierPanel.updateData(topics, topic);
+    // Only edges whose similarity lies between the old and the new threshold change visibility
+    private void applyThreshold(double threshold) {
+        if (threshold == appliedThreshold) return;
+        int from = firstAtOrAbove(Math.min(threshold, appliedThreshold)), to = firstAtOrAbove(Math.max(threshold, appliedThreshold));
+        boolean show = threshold < appliedThreshold;
+        for (int k = from; k < to; k++) {
+            if (show) showEdge(k);
+            else hideEdge(sortedEdges[k]);
+        }
+        appliedThreshold = threshold;
+    }
 
-        Map<String, Integer> comms = dataManager.getLanguageCommunityData().get(topic);
-        communityVisualPanel.updateLanguageClusters(topic, comms, currentData);
-        communityVisualPanel.updateTopicTree(topic, dataManager.getMetaClusterMembers());
+    private int firstAtOrAbove(double threshold) {
+        int lo = 0, hi = sortedSims.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedSims[mid] < threshold) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
     }
 
-    private void updateGraphEdges(Map<String, Double> data, double threshold) {
-        // Reset edges visual state
-        graph.edges().forEach(e -> {
-            e.setAttribute("ui.style", "fill-color: rgba(0,0,0,0); stroke-mode: none; size: 0px;");
-            e.removeAttribute("ui.label");
-        });
+    private void showEdge(int k) { applyEdge(sortedEdges[k], sortedClasses[k], sortedLabels[k]); }
 
-        for (Map.Entry<String, Double> entry : data.entrySet()) {
-            String[] parts = entry.getKey().split("_");
-            if (parts.length < 2) continue;
-            String id = parts[0] + "_" + parts[1];
-            double sim = entry.getValue();
+    private void hideEdge(Edge e) { applyEdge(e, "filtered", null); }
 
-            if (graph.getNode(parts[0]) == null || graph.getNode(parts[1]) == null) continue;
+    // Same text as String.format("%.2f", sim): Formatter rounds the shortest decimal form half-up, like BigDecimal.valueOf
+    private static String simLabel(double sim) {
+        if (!(Double.compare(sim, 0.0) >= 0 && sim <= 1)) return String.format("%.2f", sim);   // also -0.0 and NaN
+        return SIM_LABELS[BigDecimal.valueOf(sim).setScale(2, RoundingMode.HALF_UP).unscaledValue().intValue()];
+    }
 
-            Edge e = graph.getEdge(id);
-            if (e == null) {
-                String rev = parts[1] + "_" + parts[0];
-                e = graph.getEdge(rev);
-                if (e == null) e = graph.addEdge(id, parts[0], parts[1]);
-            }
+    private void applyEdge(Edge e, String cls, String label) {
+        int idx = e.getIndex();
+        if (idx >= appliedClasses.length) {
+            appliedClasses = Arrays.copyOf(appliedClasses, Math.max(idx + 1, graph.getEdgeCount()));
+            appliedLabels = Arrays.copyOf(appliedLabels, appliedClasses.length);
+        }
+        if (!cls.equals(appliedClasses[idx])) {
+            e.setAttribute("ui.class", cls);
+            appliedClasses[idx] = cls;
+        }
+        if (!Objects.equals(label, appliedLabels[idx])) {
+            if (label == null) e.removeAttribute("ui.label");
+            else e.setAttribute("ui.label", label);
+            appliedLabels[idx] = label;
+        }
+    }
 
-            if (sim < threshold) {
-                e.setAttribute("ui.style", "fill-color: rgba(0,0,0,0); stroke-mode: none; size: 0px;");
-            } else {
-                String col = sim > 0.90 ? "#e74c3c" : sim > 0.75 ? "#e67e22" : sim > 0.60 ? "#f1c40f" : sim > 0.45 ? "#2ecc71" : "#3498db";
-                int sz = sim > 0.90 ? 4 : sim > 0.75 ? 3 : 2;
-                e.setAttribute("ui.style", String.format("fill-color: %s; stroke-color: %s; stroke-mode: plain; size: %dpx;", col, col, sz));
-                e.setAttribute("ui.label", String.format("%.2f", sim));
-            }
+    // Graph edges by language index, so repeated updates skip the id lookups
+    private Edge edgeFor(LanguageRegistry reg, int i, int j) {
+        int n = reg.size();
+        if (reg != edgeRegistry || edgeIndex.length != n * n) { edgeRegistry = reg; edgeIndex = new Edge[n * n]; }
+        Edge e = edgeIndex[i * n + j];
+        if (e == null) {
+            String a = reg.code(i), b = reg.code(j);
+            if (graph.getNode(a) == null || graph.getNode(b) == null) return null;
+            e = graph.getEdge(a + "_" + b);
+            if (e == null) e = graph.getEdge(b + "_" + a);
+            if (e == null) e = graph.addEdge(a + "_" + b, a, b);
+            edgeIndex[i * n + j] = e; edgeIndex[j * n + i] = e;
         }
+        return e;
     }
 }
\ No newline at end of file
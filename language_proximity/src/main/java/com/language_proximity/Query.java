@@ -0,0 +1,69 @@
+package com.language_proximity;
+
+import com.language_proximity.service.DataManager;
+import com.language_proximity.service.QueryService;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Headless entry point: loads one mode through DataManager and answers queries as CSV or JSON without touching
+// java.awt or Swing. Queries come from the command line or, when none is given, one per line from stdin:
+//   closest <lang> [scope] [n]             languages most similar to <lang>
+//   similarity <lang1> <lang2> [scope]      similarity of one language pair
+//   matrix [scope]                          every language pair of a scope
+//   pair-outliers <lang1> <lang2> [scope] [n]  strongest word outliers for a language pair
+//   topic-outliers <topic> [n]              strongest word outliers in a topic
+//   community [scope]                       language community ids for a scope
+// Scopes and topics containing spaces are quoted ("medical terms"); the scope defaults to Global.
+public class Query {
+    private final QueryService queries;
+    private final boolean json;
+
+    Query(QueryService queries, boolean json) { this.queries = queries; this.json = json; }
+
+    public static void main(String[] args) throws IOException {
+        String mode = "_lexical";
+        boolean json = false;
+        List<String> query = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--mode") && i + 1 < args.length) mode = "_" + args[++i].toLowerCase(Locale.ROOT).replace("_", "");
+            else if (args[i].equals("--format") && i + 1 < args.length) json = args[++i].equalsIgnoreCase("json");
+            else query.add(args[i]);
+        }
+
+        // Console output only: no preloading of the other mode and no directory watch
+        System.setProperty("language_proximity.preload", "false");
+        PrintStream log = System.out;
+        System.setOut(System.err);   // loader progress must not mix with answers
+        DataManager dm = new DataManager();
+        try {
+            dm.switchMode(mode);
+            Query q = new Query(new QueryService(dm.getSnapshot()), json);
+            Writer out = new BufferedWriter(new OutputStreamWriter(log, StandardCharsets.UTF_8));
+            if (!query.isEmpty()) q.answer(query, out);
+            else {
+                BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                for (String line; (line = in.readLine()) != null; ) {
+                    List<String> tokens = QueryService.tokenize(line);
+                    if (!tokens.isEmpty() && !tokens.get(0).startsWith("#")) q.answer(tokens, out);
+                }
+            }
+            out.flush();
+        } finally {
+            System.setOut(log);
+            dm.shutdown();
+        }
+    }
+
+    void answer(List<String> q, Writer out) throws IOException {
+        QueryService.Result r;
+        try {
+            r = queries.run(q);
+        } catch (IllegalArgumentException e) {
+            r = QueryService.error(e.getMessage());
+        }
+        if (json) r.writeJson(String.join(" ", q), out);
+        else r.writeCsv(String.join(" ", q), out);
+    }
+}
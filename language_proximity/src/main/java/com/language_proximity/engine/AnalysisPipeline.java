@@ -0,0 +1,315 @@
+package com.language_proximity.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Java counterpart of AnalysisPipeline in python_scripts/compute_proximity.py.
+// Writes the proximity and outlier CSVs read by DataManager; community files are still produced by the script.
+// Runs are incremental by default: scores and per-topic results are kept in data/.pipeline_state_<mode>.bin, only
+// rows whose content changed are rescored, only their topics are re-aggregated, and unchanged outputs are not rewritten.
+public class AnalysisPipeline {
+
+    public static final double STD_THRESHOLD = 2.0;
+    private static final int ROW_BATCH = 64;
+
+    private final String dataDir;
+    private final SimilarityMetric metric;
+    private final ForkJoinPool pool;
+    private final boolean incremental;
+
+    private WordTable table;
+    private String[] languages;
+    private int[][] pairs;
+    // [pair][row], kept whole: PipelineState saves it for the next run and the means sum full columns pairwise like numpy
+    private double[][] wordSims;
+    private int[][] topicRows;      // row indices per topic
+    private long[] rowHashes;
+    private PipelineState previous;
+    private int[] previousTopic;    // index of each topic in the previous state when its rows are unchanged, else -1
+
+    public AnalysisPipeline(String dataDir, SimilarityMetric metric, ForkJoinPool pool) {
+        this(dataDir, metric, pool, true);
+    }
+
+    public AnalysisPipeline(String dataDir, SimilarityMetric metric, ForkJoinPool pool, boolean incremental) {
+        this.dataDir = dataDir; this.metric = metric; this.pool = pool; this.incremental = incremental;
+    }
+
+    public void run() throws IOException {
+        System.out.println("--- Loading data for mode: " + metric.getSuffix().substring(1).toUpperCase(Locale.ROOT) + " ---");
+        table = WordTable.load(new File(dataDir, metric.getInputFile()).getPath());
+        languages = table.getLanguages();
+        pairs = combinations(languages.length);
+        topicRows = groupRowsByTopic(table);
+        rowHashes = PipelineState.hashRows(table);
+        File stateFile = new File(dataDir, ".pipeline_state" + metric.getSuffix() + ".bin");
+        long fingerprint = PipelineState.fingerprint(metric);
+        previous = incremental ? PipelineState.read(stateFile, languages, fingerprint) : null;
+
+        // Rows seen before keep their scores; only new or edited rows go through the kernel
+        wordSims = new double[pairs.length][table.rowCount()];
+        int[] dirty = new int[table.rowCount()];
+        int dirtyCount = 0;
+        for (int r = 0; r < table.rowCount(); r++) {
+            int old = previous == null ? -1 : previous.rowWithHash(rowHashes[r]);
+            if (old < 0) dirty[dirtyCount++] = r;
+            else for (int p = 0; p < pairs.length; p++) wordSims[p][r] = previous.wordSims[p][old];
+        }
+        String[] topics = table.getTopics();
+        previousTopic = new int[topics.length];
+        int changedTopics = 0;
+        for (int t = 0; t < topics.length; t++) {
+            previousTopic[t] = previous == null ? -1 : previous.unchangedTopic(topics[t], topicRows[t], rowHashes);
+            if (previousTopic[t] < 0) changedTopics++;
+        }
+
+        System.out.println("- Scoring word pairs (" + dirtyCount + " of " + table.rowCount() + " rows changed, " + changedTopics + " of " +
+                topics.length + " topics affected, " + pairs.length + " pairs, parallelism " + pool.getParallelism() + ")...");
+        pool.invoke(new ScoreTask(Arrays.copyOf(dirty, dirtyCount), 0, dirtyCount));
+
+        double[] global = calculateGlobalProximity();
+        double[][] byTopic = calculateProximityByTopic();
+        findTopicOutliers(byTopic, global);
+        List<List<Outlier>> wordOutliers = findWordOutliers();
+        if (previous == null || dirtyCount > 0 || changedTopics > 0 || previous.topics.length != topics.length) {
+            new PipelineState(languages, rowHashes, wordSims, topics, topicRows, byTopic, wordOutliers).write(stateFile, fingerprint);
+        }
+        reportRawWords(topics);
+        System.out.println("--- Analysis for " + metric.getSuffix() + " completed! ---\n");
+    }
+
+    private final class ScoreTask extends RecursiveAction {
+        private final int[] rows;
+        private final int from, to;
+        ScoreTask(int[] rows, int from, int to) { this.rows = rows; this.from = from; this.to = to; }
+
+        @Override protected void compute() {
+            if (to - from <= ROW_BATCH) {
+                SimilarityKernel kernel = metric.newKernel();
+                int[][] cells = new int[languages.length][];
+                double[] scores = new double[pairs.length];
+                for (int k = from; k < to; k++) {
+                    int r = rows[k];
+                    String[] row = table.getRow(r);
+                    for (int l = 0; l < cells.length; l++) cells[l] = metric.prepare(row[l]);
+                    kernel.scoreRow(cells, pairs, scores);
+                    for (int p = 0; p < pairs.length; p++) wordSims[p][r] = scores[p];
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(rows, from, mid), new ScoreTask(rows, mid, to));
+        }
+    }
+
+    private double[] calculateGlobalProximity() throws IOException {
+        System.out.println("- Calculating global proximity...");
+        double[] global = new double[pairs.length];
+        StringBuilder w = new StringBuilder("Language1,Language2,GlobalSimilarity\n");
+        for (int p = 0; p < pairs.length; p++) {
+            global[p] = pairwiseSum(wordSims[p], 0, wordSims[p].length) / wordSims[p].length;
+            w.append(pairName(p)).append(',').append(PandasFormat.repr(global[p])).append('\n');
+        }
+        emit("language_proximity_global", w);
+        return global;
+    }
+
+    private double[][] calculateProximityByTopic() throws IOException {
+        System.out.println("- Calculating proximity by topic...");
+        String[] topics = table.getTopics();
+        double[][] byTopic = new double[topics.length][];
+        StringBuilder w = new StringBuilder("Topic,Language1,Language2,TopicSimilarity\n");
+        for (int t = 0; t < topics.length; t++) {
+            if (previousTopic[t] >= 0) byTopic[t] = previous.byTopic[previousTopic[t]];
+            else {
+                int[] rows = topicRows[t];
+                double[] buf = new double[rows.length];
+                byTopic[t] = new double[pairs.length];
+                for (int p = 0; p < pairs.length; p++) {
+                    for (int i = 0; i < rows.length; i++) buf[i] = wordSims[p][rows[i]];
+                    byTopic[t][p] = pairwiseSum(buf, 0, buf.length) / buf.length;
+                }
+            }
+            for (int p = 0; p < pairs.length; p++) {
+                w.append(PandasFormat.field(topics[t])).append(',').append(pairName(p)).append(',').append(PandasFormat.repr(byTopic[t][p])).append('\n');
+            }
+        }
+        emit("language_proximity_by_topic", w);
+        return byTopic;
+    }
+
+    private void findTopicOutliers(double[][] byTopic, double[] global) throws IOException {
+        System.out.println("- Finding topic outliers...");
+        String[] topics = table.getTopics();
+        List<Outlier> out = new ArrayList<>();
+        double[] diff = new double[topics.length];
+        for (int p = 0; p < pairs.length; p++) {
+            for (int t = 0; t < topics.length; t++) diff[t] = byTopic[t][p] - global[p];
+            double mean = mean(diff, diff.length), std = sampleStd(diff, diff.length, mean);
+            for (int t = 0; t < topics.length; t++) {
+                double z = (diff[t] - mean) / (std + 1e-9);
+                if (Math.abs(z) > STD_THRESHOLD) {
+                    out.add(new Outlier(z, PandasFormat.field(topics[t]) + "," + pairName(p) + "," +
+                            PandasFormat.fixed3(byTopic[t][p]) + "," + PandasFormat.fixed3(global[p]) + "," + PandasFormat.fixed3(diff[t]) + "," +
+                            PandasFormat.fixed3(mean) + "," + PandasFormat.fixed3(std) + "," + PandasFormat.fixed3(z) + "," + type(z)));
+                }
+            }
+        }
+        write("outliers_topics", "Topic,Language1,Language2,TopicSimilarity,GlobalSimilarity,Difference,mean,std,z_score,OutlierType", out);
+    }
+
+    // Outliers of topics whose rows did not change are taken from the previous run as they are
+    private List<List<Outlier>> findWordOutliers() throws IOException {
+        System.out.println("- Finding word outliers...");
+        String[] topics = table.getTopics();
+        List<List<Outlier>> byTopic = new ArrayList<>(topics.length);
+        List<Outlier> out = new ArrayList<>();
+        for (int t = 0; t < topics.length; t++) {
+            List<Outlier> found = previousTopic[t] >= 0 ? previous.wordOutliers.get(previousTopic[t]) : wordOutliers(t, topics[t]);
+            byTopic.add(found);
+            out.addAll(found);
+        }
+        write("outliers_words", "Topic,SourceWord,Lang1,Lang2,Word1,Word2,WordSimilarity,mean,std,z_score,OutlierType", out);
+        return byTopic;
+    }
+
+    // One pass over the topic's rows into running statistics per language pair, then a second pass that emits only
+    // rows past the threshold. Reads wordSims in place: the extra memory is one RunningStats per pair plus the outliers
+    private List<Outlier> wordOutliers(int t, String topic) {
+        List<Outlier> out = new ArrayList<>();
+        int[] rows = topicRows[t];
+        RunningStats[] stats = new RunningStats[pairs.length];
+        for (int p = 0; p < pairs.length; p++) stats[p] = new RunningStats();
+        for (int r : rows) for (int p = 0; p < pairs.length; p++) stats[p].add(wordSims[p][r]);
+        for (int p = 0; p < pairs.length; p++) {
+            double mean = stats[p].mean, std = stats[p].std();
+            for (int r : rows) {
+                double sim = wordSims[p][r], z = (sim - mean) / (std + 1e-9);
+                if (!(Math.abs(z) > STD_THRESHOLD)) continue;
+                String[] row = table.getRow(r);
+                out.add(new Outlier(z, PandasFormat.field(topic) + "," + PandasFormat.field(table.getSourceWord(r)) + "," + pairName(p) + "," +
+                        PandasFormat.field(row[pairs[p][0]]) + "," + PandasFormat.field(row[pairs[p][1]]) + "," +
+                        PandasFormat.fixed3(sim) + "," + PandasFormat.fixed3(mean) + "," + PandasFormat.fixed3(std) + "," +
+                        PandasFormat.fixed3(z) + "," + type(z)));
+            }
+        }
+        return out;
+    }
+
+    // Topics with a word list in raw_words but no rows yet still need translate_words.py before they can be scored
+    private void reportRawWords(String[] topics) {
+        File[] lists = new File(dataDir, "raw_words").listFiles((d, name) -> name.endsWith(".txt"));
+        if (lists == null) return;
+        for (File f : lists) {
+            String topic = f.getName().substring(0, f.getName().length() - 4);
+            if (Arrays.binarySearch(topics, topic) < 0) System.out.println("- No translations yet for raw_words/" + f.getName() + "; run translate_words.py first");
+        }
+    }
+
+    static final class Outlier {
+        final double z, absZ; final String line;
+        Outlier(double z, String line) { this.z = z; this.absZ = Math.abs(z); this.line = line; }
+    }
+
+    // Welford's online mean and sample variance of one (topic, language pair) group
+    static final class RunningStats {
+        int n; double mean, m2;
+        void add(double x) { double d = x - mean; mean += d / ++n; m2 += d * (x - mean); }
+        double std() { return n < 2 ? Double.NaN : Math.sqrt(m2 / (n - 1)); }
+    }
+
+    private void write(String name, String header, List<Outlier> rows) throws IOException {
+        rows.sort(Comparator.comparingDouble((Outlier o) -> o.absZ).reversed());
+        StringBuilder w = new StringBuilder(header).append('\n');
+        for (Outlier o : rows) w.append(o.line).append('\n');
+        emit(name, w);
+    }
+
+    // Leaves a file untouched when its content would not change, so readers keyed on mtime do not reload it
+    private void emit(String name, CharSequence content) throws IOException {
+        File f = new File(dataDir, name + metric.getSuffix() + ".csv");
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        if (f.length() == bytes.length && Arrays.equals(Files.readAllBytes(f.toPath()), bytes)) {
+            System.out.println("  " + f.getName() + " unchanged");
+            return;
+        }
+        Files.write(f.toPath(), bytes);
+    }
+
+    private String pairName(int p) { return PandasFormat.field(languages[pairs[p][0]]) + "," + PandasFormat.field(languages[pairs[p][1]]); }
+
+    private static String type(double z) { return z > 0 ? "Positive" : "Negative"; }
+
+    // itertools.combinations order
+    static int[][] combinations(int n) {
+        int[][] out = new int[n * (n - 1) / 2][];
+        for (int i = 0, k = 0; i < n; i++) for (int j = i + 1; j < n; j++) out[k++] = new int[]{i, j};
+        return out;
+    }
+
+    private static int[][] groupRowsByTopic(WordTable table) {
+        int[] counts = new int[table.getTopics().length];
+        for (int r = 0; r < table.rowCount(); r++) counts[table.getTopicIndex(r)]++;
+        int[][] rows = new int[counts.length][];
+        for (int t = 0; t < counts.length; t++) rows[t] = new int[counts[t]];
+        int[] fill = new int[counts.length];
+        for (int r = 0; r < table.rowCount(); r++) { int t = table.getTopicIndex(r); rows[t][fill[t]++] = r; }
+        return rows;
+    }
+
+    // numpy's pairwise summation, so means agree with pandas to the last digit
+    static double pairwiseSum(double[] a, int off, int n) {
+        if (n < 8) {
+            double res = 0.;
+            for (int i = 0; i < n; i++) res += a[off + i];
+            return res;
+        } else if (n <= 128) {
+            double[] r = new double[8];
+            for (int j = 0; j < 8; j++) r[j] = a[off + j];
+            int i;
+            for (i = 8; i < n - (n % 8); i += 8) for (int j = 0; j < 8; j++) r[j] += a[off + i + j];
+            double res = ((r[0] + r[1]) + (r[2] + r[3])) + ((r[4] + r[5]) + (r[6] + r[7]));
+            for (; i < n; i++) res += a[off + i];
+            return res;
+        }
+        int n2 = n / 2;
+        n2 -= n2 % 8;
+        return pairwiseSum(a, off, n2) + pairwiseSum(a, off + n2, n - n2);
+    }
+
+    static double mean(double[] a, int n) {
+        double s = 0;
+        for (int i = 0; i < n; i++) s += a[i];
+        return s / n;
+    }
+
+    static double sampleStd(double[] a, int n, double mean) {
+        if (n < 2) return Double.NaN;
+        double s = 0;
+        for (int i = 0; i < n; i++) { double d = a[i] - mean; s += d * d; }
+        return Math.sqrt(s / (n - 1));
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean full = Arrays.asList(args).contains("--full");
+        String dataDir = Arrays.stream(args).filter(a -> !a.startsWith("--")).findFirst().orElse("data");
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            long start = System.nanoTime();
+            new AnalysisPipeline(dataDir, SimilarityMetric.LEXICAL, pool, !full).run();
+            new AnalysisPipeline(dataDir, SimilarityMetric.PHONETIC, pool, !full).run();
+            System.out.printf(Locale.ROOT, "=== ALL ANALYSES COMPLETED SUCCESSFULLY (%.1f s) ===%n", (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.language_proximity.engine;
+
+import com.language_proximity.model.LanguageMatrix;
+
+import java.util.Arrays;
+
+// Undirected weighted graph in compressed sparse row form: the neighbours of node v are
+// targets[offsets[v] .. offsets[v + 1]), each edge stored once per direction.
+public final class CsrGraph {
+    final int n;
+    final int[] offsets, targets;
+    final double[] weights;
+    final double[] nodeWeights;   // weighted degree, self-loops included
+    final double totalWeight;     // sum of nodeWeights (2m)
+
+    CsrGraph(int n, int[] offsets, int[] targets, double[] weights, double[] nodeWeights) {
+        this.n = n; this.offsets = offsets; this.targets = targets; this.weights = weights; this.nodeWeights = nodeWeights;
+        double t = 0;
+        for (double w : nodeWeights) t += w;
+        this.totalWeight = t;
+    }
+
+    // Edges (a[k], b[k], w[k]) with a[k] != b[k]; duplicate pairs are kept as parallel edges
+    public static CsrGraph fromEdges(int n, int[] a, int[] b, double[] w, int edgeCount) {
+        int[] offsets = new int[n + 1];
+        for (int k = 0; k < edgeCount; k++) { offsets[a[k] + 1]++; offsets[b[k] + 1]++; }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] fill = Arrays.copyOf(offsets, n), targets = new int[2 * edgeCount];
+        double[] weights = new double[2 * edgeCount], nodeWeights = new double[n];
+        for (int k = 0; k < edgeCount; k++) {
+            targets[fill[a[k]]] = b[k]; weights[fill[a[k]]++] = w[k];
+            targets[fill[b[k]]] = a[k]; weights[fill[b[k]]++] = w[k];
+            nodeWeights[a[k]] += w[k]; nodeWeights[b[k]] += w[k];
+        }
+        return new CsrGraph(n, offsets, targets, weights, nodeWeights);
+    }
+
+    // Nodes are the matrix's present languages in getLanguages() order; only pairs above the threshold become edges
+    public static CsrGraph fromMatrix(LanguageMatrix m, double threshold) {
+        int[] langs = m.getLanguages();
+        int[] local = new int[m.size()];
+        for (int i = 0; i < langs.length; i++) local[langs[i]] = i;
+        int cap = m.pairCount();
+        int[] a = new int[cap], b = new int[cap];
+        double[] w = new double[cap];
+        int[] count = {0};
+        m.forEachPair((i, j, v) -> {
+            if (!(v > threshold)) return;
+            a[count[0]] = local[i]; b[count[0]] = local[j]; w[count[0]++] = v;
+        });
+        return fromEdges(langs.length, a, b, w, count[0]);
+    }
+
+    public int nodeCount() { return n; }
+    public int edgeCount() { return targets.length / 2; }
+}
@@ -0,0 +1,102 @@
+package com.language_proximity.engine;
+
+import java.util.List;
+import java.util.Locale;
+
+// Port of clean_ipa() from python_scripts/compute_proximity.py. Apart from the leading (en)/(pt-pt) marker pass,
+// every pass of the script maps single characters, so the passes are composed once, in script order, into a
+// per-character table and a word is cleaned in one scan: markers are skipped, everything else is looked up.
+public final class IpaCleaner {
+    private static final char DROP = '\uFFFF';
+
+    // Same order as the script: each rule maps any of its characters to the replacement ("" removes them)
+    private static final List<String[]> RULES = List.of(
+            // Modifiers, stress marks, length markers, ties and diacritics
+            rule("\u02B2\u02B0\u02B7\u0303\u02D0\u02D1.\u02C8\u02CC\u0361''\u0329\u0294\u032F\u0306\u0308\u033D\u02BC\u02DE\u02B1\u02FA\u02C3\u02B4\u0325\u032C\u0324\u0330\u033A\u033B\u033C\u031D\u031E\u031F\u0320\u0318\u0319\u031A\u02F3\u0326\u032A\u032B\u0339\u031C\u030C\u030F\u0311", ""),
+            // Vowels
+            rule("\u0251\u0252\u00E6\u0250a\u028C", "a"),
+            rule("\u025B\u025C\u0259\u0258e\u0264", "e"),
+            rule("\u026Ay\u0268\u028Fi\u026F", "i"),
+            rule("\u0254\u00F8\u0153o\u0275", "o"),
+            rule("\u028A\u0289u\u0276", "u"),
+            // Consonants
+            rule("\u03B8", "t"),
+            rule("\u00F0", "d"),
+            rule("\u00E7", "x"),
+            rule("\u0263x\u03C7", "g"),
+            rule("\u0295\u0127\u0294\u029C\u02A1\u0266h", "h"),
+            rule("\u0279\u027B\u0281\u027E\u027Dr\u027A\u0280\u026D\u0273", "r"),
+            rule("\u0271\u0272\u014B\u0274\u0273", "n"),
+            rule("\u026B\u026C\u026E\u028E\u026D\u029F", "l"),
+            rule("\u0265\u029Dj", "j"),
+            rule("\u028Dw", "w"),
+            rule("\u0261", "g"),
+            rule("\u0262", "g"),
+            rule("\u0263", "g"),
+            rule("q", "k"),
+            rule("\u0278\u03B2", "v"),
+            rule("\u028B", "v"),
+            rule("\u0283\u0282\u0292\u0290", "s"),
+            rule("\u0255\u0291", "s"),
+            rule("\u0291", "s"),
+            rule("\u0255", "s"),
+            rule("\u0272", "n"),
+            // Clicks
+            rule("\u0298\u01C0\u01C3\u01C2\u01C1", "k")
+    );
+
+    // Final character for every char up to the highest one any rule mentions; DROP where the passes remove it
+    private static final char[] TABLE = compile();
+
+    private IpaCleaner() {}
+
+    public static String clean(String text) {
+        if (text == null || text.isEmpty()) return text;
+        text = text.toLowerCase(Locale.ROOT).strip();
+        int n = text.length();
+        char[] out = new char[n];
+        int len = 0;
+        for (int i = 0; i < n; ) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                int end = markerEnd(text, i);
+                if (end > 0) { i = end; continue; }
+            }
+            if (c >= TABLE.length) out[len++] = c;
+            else if (TABLE[c] != DROP) out[len++] = TABLE[c];
+            i++;
+        }
+        return new String(out, 0, len);
+    }
+
+    // End of a language marker (\([a-z]{2}(?:-[a-z]{2})?\)) starting at i, or -1; the longer form is tried first
+    private static int markerEnd(String s, int i) {
+        if (!letters(s, i + 1)) return -1;
+        if (i + 6 < s.length() && s.charAt(i + 3) == '-' && letters(s, i + 4) && s.charAt(i + 6) == ')') return i + 7;
+        return i + 3 < s.length() && s.charAt(i + 3) == ')' ? i + 4 : -1;
+    }
+
+    private static boolean letters(String s, int i) {
+        return i + 1 < s.length() && lower(s.charAt(i)) && lower(s.charAt(i + 1));
+    }
+
+    private static boolean lower(char c) { return c >= 'a' && c <= 'z'; }
+
+    private static String[] rule(String chars, String replacement) { return new String[]{chars, replacement}; }
+
+    // Runs every character through the rules in order, exactly as the successive passes would
+    private static char[] compile() {
+        int size = 0;
+        for (String[] r : RULES) for (char c : r[0].toCharArray()) size = Math.max(size, c + 1);
+        char[] table = new char[size];
+        for (int c = 0; c < size; c++) {
+            char cur = (char) c;
+            for (String[] r : RULES) {
+                if (cur == DROP) break;
+                if (r[0].indexOf(cur) >= 0) cur = r[1].isEmpty() ? DROP : r[1].charAt(0);
+            }
+            table[c] = cur;
+        }
+        return table;
+    }
+}
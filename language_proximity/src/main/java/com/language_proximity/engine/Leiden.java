@@ -0,0 +1,274 @@
+package com.language_proximity.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Leiden modularity optimisation (Traag, Waltman & van Eck 2019), the algorithm behind leidenalg's
+// ModularityVertexPartition used by nx_to_leiden: fast local moving, refinement restricted to well-connected
+// subsets, then aggregation of the refined partition, repeated until no node moves.
+public final class Leiden {
+    private static final double THETA = 0.01;   // randomness of the refinement step, leidenalg's default
+    private static final int MIN_PASSES = 2;     // find_partition's n_iterations
+
+    private final double resolution;
+    private final Random random;
+
+    public Leiden(double resolution, long seed) {
+        this.resolution = resolution;
+        this.random = new Random(seed);
+    }
+
+    // Community id per node of g; ids are dense and ordered by community size (largest first), like leidenalg.
+    // Like find_partition (n_iterations=2) the optimiser runs at least twice, each pass starting from the previous
+    // partition, and keeps going while a pass still raises the quality.
+    public int[] partition(CsrGraph g) {
+        int[] best = identity(g.n);
+        if (g.edgeCount() == 0) return best;
+        double bestQuality = quality(g, best);
+        for (int pass = 1; ; pass++) {
+            int[] next = optimise(g, best.clone());
+            double q = quality(g, next);
+            boolean improved = q > bestQuality + 1e-12;
+            if (q >= bestQuality) { best = next; bestQuality = q; }
+            if (pass >= MIN_PASSES && !improved) break;
+        }
+        return bySize(best);
+    }
+
+    // One run of the optimiser from the given partition of g: move, refine and aggregate until no node moves
+    private int[] optimise(CsrGraph g, int[] initial) {
+        int[] membership = identity(g.n);       // original node -> node of the current aggregate graph
+        CsrGraph graph = g;
+        int[] community = initial;
+        while (true) {
+            moveNodesFast(graph, community);
+            int count = renumber(community);
+            if (count == graph.n) break;
+
+            int[] refined = refine(graph, community);
+            int refinedCount = renumber(refined);
+            if (refinedCount == graph.n) {
+                // Refinement kept every node apart; aggregate the unrefined partition so the graph still shrinks
+                refined = community.clone();
+                refinedCount = count;
+            }
+            for (int v = 0; v < g.n; v++) membership[v] = refined[membership[v]];
+
+            int[] aggregateCommunity = new int[refinedCount];
+            for (int v = 0; v < graph.n; v++) aggregateCommunity[refined[v]] = community[v];
+            graph = aggregate(graph, refined, refinedCount);
+            community = aggregateCommunity;
+        }
+        for (int v = 0; v < g.n; v++) membership[v] = community[membership[v]];
+        return membership;
+    }
+
+    // Modularity of a partition of g at this resolution, the quantity every move increases
+    private double quality(CsrGraph g, int[] community) {
+        double[] tot = new double[g.n];
+        double inside = 0;
+        for (int v = 0; v < g.n; v++) {
+            tot[community[v]] += g.nodeWeights[v];
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) if (community[g.targets[e]] == community[v]) inside += g.weights[e];
+        }
+        double expected = 0;
+        for (double t : tot) expected += t * t;
+        return (inside - resolution * expected / g.totalWeight) / g.totalWeight;
+    }
+
+    private void moveNodesFast(CsrGraph g, int[] community) {
+        double[] tot = new double[g.n], linkTo = new double[g.n];
+        int[] touched = new int[g.n], members = new int[g.n];
+        for (int v = 0; v < g.n; v++) { tot[community[v]] += g.nodeWeights[v]; members[community[v]]++; }
+
+        int[] queue = shuffled(g.n);
+        boolean[] queued = new boolean[g.n];
+        Arrays.fill(queued, true);
+        int head = 0, size = g.n;
+        while (size > 0) {
+            int v = queue[head];
+            head = (head + 1) % g.n; size--;
+            queued[v] = false;
+
+            int own = community[v], touchedCount = 0;
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                int c = community[g.targets[e]];
+                if (linkTo[c] == 0) touched[touchedCount++] = c;
+                linkTo[c] += g.weights[e];
+            }
+            double kv = g.nodeWeights[v], scale = resolution * kv / g.totalWeight;
+            tot[own] -= kv; members[own]--;
+            int best = own;
+            double bestGain = linkTo[own] - scale * tot[own];
+            for (int i = 0; i < touchedCount; i++) {
+                int c = touched[i];
+                double gain = linkTo[c] - scale * tot[c];
+                if (gain > bestGain) { bestGain = gain; best = c; }
+            }
+            if (bestGain < 0) best = emptyCommunity(members, own);   // alone beats every neighbour
+            tot[best] += kv; members[best]++;
+            for (int i = 0; i < touchedCount; i++) linkTo[touched[i]] = 0;
+            linkTo[own] = 0;
+
+            if (best != own) {
+                community[v] = best;
+                for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                    int u = g.targets[e];
+                    if (!queued[u] && community[u] != best) {
+                        queue[(head + size) % g.n] = u; size++;
+                        queued[u] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int emptyCommunity(int[] members, int own) {
+        if (members[own] == 0) return own;
+        for (int c = 0; c < members.length; c++) if (members[c] == 0) return c;
+        return own;
+    }
+
+    // Merges singletons inside each community, only into well-connected subsets and never across communities
+    private int[] refine(CsrGraph g, int[] community) {
+        int n = g.n;
+        int[] refined = identity(n);
+        double[] totRefined = g.nodeWeights.clone(), totCommunity = new double[n];
+        double[] externalRefined = new double[n];   // weight from a refined cluster to the rest of its community
+        boolean[] singleton = new boolean[n];
+        Arrays.fill(singleton, true);
+        for (int v = 0; v < n; v++) totCommunity[community[v]] += g.nodeWeights[v];
+        for (int v = 0; v < n; v++) {
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                if (community[g.targets[e]] == community[v]) externalRefined[v] += g.weights[e];
+            }
+        }
+
+        double[] linkTo = new double[n], probabilities = new double[n];
+        int[] touched = new int[n];
+        for (int v : shuffled(n)) {
+            if (!singleton[v]) continue;
+            int s = community[v];
+            double kv = g.nodeWeights[v];
+            if (externalRefined[v] < resolution * kv * (totCommunity[s] - kv) / g.totalWeight) continue;
+
+            int touchedCount = 0;
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                int u = g.targets[e];
+                if (community[u] != s) continue;
+                int c = refined[u];
+                if (linkTo[c] == 0) touched[touchedCount++] = c;
+                linkTo[c] += g.weights[e];
+            }
+
+            // Candidates are well-connected clusters with a non-negative gain, plus staying alone (gain 0);
+            // one is drawn with probability proportional to exp(gain / theta)
+            double bestGain = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int c = touched[i];
+                boolean wellConnected = externalRefined[c] >= resolution * totRefined[c] * (totCommunity[s] - totRefined[c]) / g.totalWeight;
+                double gain = linkTo[c] - resolution * kv * totRefined[c] / g.totalWeight;
+                probabilities[i] = wellConnected && gain >= 0 ? gain : Double.NaN;
+                if (gain > bestGain && wellConnected) bestGain = gain;
+            }
+            double stay = Math.exp(-bestGain / THETA), total = stay;
+            for (int i = 0; i < touchedCount; i++) {
+                probabilities[i] = Double.isNaN(probabilities[i]) ? 0 : Math.exp((probabilities[i] - bestGain) / THETA);
+                total += probabilities[i];
+            }
+            int target = refined[v];
+            double r = random.nextDouble() * total - stay;
+            for (int i = 0; i < touchedCount && r > 0; i++) {
+                r -= probabilities[i];
+                if (r <= 0 && probabilities[i] > 0) target = touched[i];
+            }
+            for (int i = 0; i < touchedCount; i++) linkTo[touched[i]] = 0;
+            if (target == refined[v]) continue;
+
+            // v joins target: update the cluster's size and its weight towards the rest of the community
+            int old = refined[v];
+            refined[v] = target;
+            singleton[target] = false;
+            totRefined[target] += kv; totRefined[old] -= kv;
+            double inner = 0;
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) if (refined[g.targets[e]] == target && g.targets[e] != v) inner += g.weights[e];
+            externalRefined[target] += externalRefined[v] - 2 * inner;
+            externalRefined[old] = 0;
+        }
+        return refined;
+    }
+
+    // One node per cluster; edges between clusters are summed, edges inside a cluster only count towards its weight
+    private static CsrGraph aggregate(CsrGraph g, int[] cluster, int count) {
+        int[] order = new int[g.n], start = new int[count + 1];
+        for (int v = 0; v < g.n; v++) start[cluster[v] + 1]++;
+        for (int c = 0; c < count; c++) start[c + 1] += start[c];
+        int[] fill = Arrays.copyOf(start, count);
+        for (int v = 0; v < g.n; v++) order[fill[cluster[v]]++] = v;
+
+        double[] acc = new double[count], nodeWeights = new double[count];
+        int[] touched = new int[count], offsets = new int[count + 1];
+        int[] targets = new int[g.targets.length];
+        double[] weights = new double[g.targets.length];
+        int edges = 0;
+        for (int c = 0; c < count; c++) {
+            int touchedCount = 0;
+            for (int k = start[c]; k < start[c + 1]; k++) {
+                int v = order[k];
+                nodeWeights[c] += g.nodeWeights[v];
+                for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                    int d = cluster[g.targets[e]];
+                    if (d == c) continue;
+                    if (acc[d] == 0) touched[touchedCount++] = d;
+                    acc[d] += g.weights[e];
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                targets[edges] = touched[i]; weights[edges++] = acc[touched[i]];
+                acc[touched[i]] = 0;
+            }
+            offsets[c + 1] = edges;
+        }
+        return new CsrGraph(count, offsets, Arrays.copyOf(targets, edges), Arrays.copyOf(weights, edges), nodeWeights);
+    }
+
+    // Dense ids in order of first appearance; returns the number of communities
+    private static int renumber(int[] community) {
+        int[] map = new int[community.length];
+        Arrays.fill(map, -1);
+        int next = 0;
+        for (int v = 0; v < community.length; v++) {
+            if (map[community[v]] < 0) map[community[v]] = next++;
+            community[v] = map[community[v]];
+        }
+        return next;
+    }
+
+    private static int[] bySize(int[] membership) {
+        int count = renumber(membership);
+        int[] sizes = new int[count];
+        for (int c : membership) sizes[c]++;
+        Integer[] order = new Integer[count];
+        for (int c = 0; c < count; c++) order[c] = c;
+        Arrays.sort(order, (x, y) -> sizes[y] != sizes[x] ? sizes[y] - sizes[x] : x - y);
+        int[] rank = new int[count];
+        for (int i = 0; i < count; i++) rank[order[i]] = i;
+        for (int v = 0; v < membership.length; v++) membership[v] = rank[membership[v]];
+        return membership;
+    }
+
+    private static int[] identity(int n) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) a[i] = i;
+        return a;
+    }
+
+    private int[] shuffled(int n) {
+        int[] a = identity(n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1), t = a[i];
+            a[i] = a[j]; a[j] = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,40 @@
+package com.language_proximity.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Formats values the way DataFrame.to_csv writes them, so Java output can replace the Python files one-to-one.
+public final class PandasFormat {
+
+    private PandasFormat() {}
+
+    // Python repr(float): shortest round-trip digits, scientific only below 1e-4 or from 1e16
+    public static String repr(double v) {
+        if (Double.isNaN(v)) return "";
+        if (Double.isInfinite(v)) return v > 0 ? "inf" : "-inf";
+        String s = Double.toString(v);
+        int e = s.indexOf('E');
+        if (e < 0) return s;
+        int exp = Integer.parseInt(s.substring(e + 1));
+        if (exp >= -4 && exp < 16) {
+            String plain = new BigDecimal(s).stripTrailingZeros().toPlainString();
+            return plain.indexOf('.') < 0 ? plain + ".0" : plain;
+        }
+        String mantissa = s.substring(0, e);
+        if (mantissa.endsWith(".0")) mantissa = mantissa.substring(0, mantissa.length() - 2);
+        return mantissa + (exp < 0 ? "e-" : "e+") + (Math.abs(exp) < 10 ? "0" : "") + Math.abs(exp);
+    }
+
+    // float_format='%.3f': C printf rounds the exact binary value half-to-even and keeps the sign of negative zero
+    public static String fixed3(double v) {
+        if (Double.isNaN(v)) return "";
+        String s = new BigDecimal(v).setScale(3, RoundingMode.HALF_EVEN).toPlainString();
+        return (v < 0 || (v == 0 && 1 / v < 0)) && s.charAt(0) != '-' ? "-" + s : s;
+    }
+
+    // QUOTE_MINIMAL
+    public static String field(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,168 @@
+package com.language_proximity.engine;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+// Scores and per-topic results of the last pipeline run for one mode. The next run rescores only rows whose content
+// hash is new and recomputes only topics whose row sequence changed. A file written by another format version, for
+// a different language set or by a metric that scores differently is ignored, which makes that run a full rebuild.
+final class PipelineState {
+    private static final int MAGIC = 0x4C505053, VERSION = 2;
+    private static final String[] PROBE_WORDS = {"", "a", "(en)\u02C8h\u025Bl\u0259\u028A", "(pt-pt) \u0283\u0254\u0303", "Stra\u00DFe", "\uD83D\uDE00x"};
+
+    final String[] languages;
+    final long[] rowHashes;
+    final double[][] wordSims;       // [pair][row]
+    final String[] topics;
+    final int[][] topicRows;         // row indices per topic, in file order
+    final double[][] byTopic;        // [topic][pair]
+    final List<List<AnalysisPipeline.Outlier>> wordOutliers;   // per topic, in discovery order
+
+    private final Map<String, Integer> topicIndex = new HashMap<>();
+    private final Map<Long, Integer> rowByHash = new HashMap<>();
+
+    PipelineState(String[] languages, long[] rowHashes, double[][] wordSims, String[] topics, int[][] topicRows,
+                  double[][] byTopic, List<List<AnalysisPipeline.Outlier>> wordOutliers) {
+        this.languages = languages; this.rowHashes = rowHashes; this.wordSims = wordSims; this.topics = topics;
+        this.topicRows = topicRows; this.byTopic = byTopic; this.wordOutliers = wordOutliers;
+        for (int t = 0; t < topics.length; t++) topicIndex.put(topics[t], t);
+        for (int r = 0; r < rowHashes.length; r++) rowByHash.putIfAbsent(rowHashes[r], r);
+    }
+
+    // Previous row with identical content, or -1
+    int rowWithHash(long hash) { return rowByHash.getOrDefault(hash, -1); }
+
+    // Previous index of a topic whose rows are exactly the given rows in the same order, or -1
+    int unchangedTopic(String topic, int[] rows, long[] hashes) {
+        Integer t = topicIndex.get(topic);
+        if (t == null || topicRows[t].length != rows.length) return -1;
+        for (int i = 0; i < rows.length; i++) if (hashes[rows[i]] != rowHashes[topicRows[t][i]]) return -1;
+        return t;
+    }
+
+    // 64-bit FNV-1a over topic, source word and every translation, with a separator between fields
+    static long[] hashRows(WordTable table) {
+        long[] hashes = new long[table.rowCount()];
+        String[] topics = table.getTopics();
+        for (int r = 0; r < hashes.length; r++) {
+            long h = hash(0xcbf29ce484222325L, topics[table.getTopicIndex(r)]);
+            h = hash(h, table.getSourceWord(r));
+            for (String cell : table.getRow(r)) h = hash(h, cell);
+            hashes[r] = h;
+        }
+        return hashes;
+    }
+
+    // Hash of what the metric computes on a fixed probe set: the prepared code points of every character up to U+03FF
+    // and of a few words, and the scores between them, so stored scores are not reused after a cleaner or kernel change
+    static long fingerprint(SimilarityMetric metric) {
+        List<int[]> probes = new ArrayList<>();
+        for (char c = 0x20; c < 0x400; c++) probes.add(metric.prepare(String.valueOf(c)));
+        int words = 0;
+        Random random = new Random(1);
+        for (int length : new int[]{1, 5, 63, 64, 65, 129}) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i < length; i++) word.append("abde\u0283\u0254\u02D0".charAt(random.nextInt(7)));
+            probes.add(metric.prepare(word.toString()));
+            words++;
+        }
+        for (String word : PROBE_WORDS) { probes.add(metric.prepare(word)); words++; }
+
+        long h = hash(0xcbf29ce484222325L, metric.name());
+        for (int[] cps : probes) {
+            for (int cp : cps) { h ^= cp; h *= 0x100000001b3L; }
+            h ^= 0x1F; h *= 0x100000001b3L;
+        }
+        SimilarityKernel kernel = metric.newKernel();
+        for (int i = probes.size() - words; i < probes.size(); i++) {
+            for (int[] other : probes) {
+                h ^= Double.doubleToLongBits(kernel.similarity(probes.get(i), other));
+                h *= 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+
+    private static long hash(long h, String s) {
+        for (int i = 0; i < s.length(); i++) { h ^= s.charAt(i); h *= 0x100000001b3L; }
+        h ^= 0x1F; h *= 0x100000001b3L;
+        return h;
+    }
+
+    static PipelineState read(File file, String[] languages, long fingerprint) {
+        if (!file.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            if (in.readLong() != fingerprint) {
+                System.out.println("Ignoring pipeline state " + file + ": scored by a different metric version");
+                return null;
+            }
+            String[] langs = new String[in.readInt()];
+            for (int i = 0; i < langs.length; i++) langs[i] = readString(in);
+            if (!Arrays.equals(langs, languages)) return null;
+
+            long[] hashes = new long[in.readInt()];
+            for (int r = 0; r < hashes.length; r++) hashes[r] = in.readLong();
+            double[][] sims = new double[in.readInt()][hashes.length];
+            for (double[] col : sims) for (int r = 0; r < col.length; r++) col[r] = in.readDouble();
+
+            String[] topics = new String[in.readInt()];
+            int[][] topicRows = new int[topics.length][];
+            double[][] byTopic = new double[topics.length][sims.length];
+            List<List<AnalysisPipeline.Outlier>> outliers = new ArrayList<>(topics.length);
+            for (int t = 0; t < topics.length; t++) {
+                topics[t] = readString(in);
+                topicRows[t] = new int[in.readInt()];
+                for (int i = 0; i < topicRows[t].length; i++) topicRows[t][i] = in.readInt();
+                for (int p = 0; p < sims.length; p++) byTopic[t][p] = in.readDouble();
+                int n = in.readInt();
+                List<AnalysisPipeline.Outlier> list = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) list.add(new AnalysisPipeline.Outlier(in.readDouble(), readString(in)));
+                outliers.add(list);
+            }
+            return new PipelineState(langs, hashes, sims, topics, topicRows, byTopic, outliers);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring pipeline state " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Written to a temp file and moved into place so an interrupted run never leaves a truncated state
+    void write(File file, long fingerprint) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC); out.writeInt(VERSION); out.writeLong(fingerprint);
+            out.writeInt(languages.length);
+            for (String l : languages) writeString(out, l);
+            out.writeInt(rowHashes.length);
+            for (long h : rowHashes) out.writeLong(h);
+            out.writeInt(wordSims.length);
+            for (double[] col : wordSims) for (double v : col) out.writeDouble(v);
+            out.writeInt(topics.length);
+            for (int t = 0; t < topics.length; t++) {
+                writeString(out, topics[t]);
+                out.writeInt(topicRows[t].length);
+                for (int r : topicRows[t]) out.writeInt(r);
+                for (double v : byTopic[t]) out.writeDouble(v);
+                out.writeInt(wordOutliers.get(t).size());
+                for (AnalysisPipeline.Outlier o : wordOutliers.get(t)) { out.writeDouble(o.z); writeString(out, o.line); }
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] b = new byte[in.readInt()];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+}
@@ -0,0 +1,169 @@
+package com.language_proximity.engine;
+
+import java.util.Arrays;
+
+// Normalized Levenshtein similarity on code-point arrays using Myers/Hyyro bit-parallel edit distance.
+// Patterns up to 64 code points run in a single machine word; longer ones use the blocked variant.
+// Not thread-safe: keep one kernel per worker, the pattern tables are reused between calls.
+public final class SimilarityKernel {
+
+    private static final int DIRECT = 256;
+
+    private final double emptyScore;
+
+    // Pattern match vectors: Latin-1 code points index directly, the rest go through an open-addressing table
+    private long[] direct = new long[DIRECT];
+    private int[] keys = new int[64];
+    private long[] masks = new long[64];
+    private int blocks = 1;
+    private int[] touched = new int[64];
+    private int touchedCount;
+    private int hashedCount;
+
+    private long[] vp = new long[2], vn = new long[2];
+
+    public SimilarityKernel(double emptyScore) {
+        this.emptyScore = emptyScore;
+        Arrays.fill(keys, -1);
+    }
+
+    public double similarity(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) return a.length == b.length ? emptyScore : 0.0;
+        setPattern(a);
+        return 1.0 - (double) distanceToPattern(a.length, b) / Math.max(a.length, b.length);
+    }
+
+    public int distance(int[] a, int[] b) {
+        if (a.length == 0) return b.length;
+        if (b.length == 0) return a.length;
+        setPattern(a);
+        return distanceToPattern(a.length, b);
+    }
+
+    // Scores every pair of one row; the pattern table is rebuilt only when the left column changes
+    public void scoreRow(int[][] cells, int[][] pairs, double[] out) {
+        int current = -1;
+        for (int p = 0; p < pairs.length; p++) {
+            int[] a = cells[pairs[p][0]], b = cells[pairs[p][1]];
+            if (a.length == 0 || b.length == 0) { out[p] = a.length == b.length ? emptyScore : 0.0; continue; }
+            if (pairs[p][0] != current) { setPattern(a); current = pairs[p][0]; }
+            out[p] = 1.0 - (double) distanceToPattern(a.length, b) / Math.max(a.length, b.length);
+        }
+    }
+
+    private int distanceToPattern(int m, int[] text) {
+        return blocks == 1 ? singleWord(m, text) : multiWord(m, text);
+    }
+
+    private int singleWord(int m, int[] text) {
+        long pv = -1L, mv = 0L, last = 1L << (m - 1);
+        int score = m;
+        for (int c : text) {
+            long eq = peq(c, 0);
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) score++;
+            else if ((mh & last) != 0) score--;
+            ph = (ph << 1) | 1L; // global distance: row 0 of the DP matrix grows by one per column
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return score;
+    }
+
+    private int multiWord(int m, int[] text) {
+        if (vp.length < blocks) { vp = new long[blocks]; vn = new long[blocks]; }
+        Arrays.fill(vp, 0, blocks, -1L);
+        Arrays.fill(vn, 0, blocks, 0L);
+        long last = 1L << ((m - 1) & 63);
+        int score = m;
+        for (int c : text) {
+            long hpCarry = 1, hnCarry = 0;
+            for (int w = 0; w < blocks; w++) {
+                long pv = vp[w], mv = vn[w];
+                long x = peq(c, w) | hnCarry;
+                long d0 = (((x & pv) + pv) ^ pv) | x | mv;
+                long hp = mv | ~(d0 | pv);
+                long hn = d0 & pv;
+                long hpIn = hpCarry, hnIn = hnCarry;
+                if (w < blocks - 1) { hpCarry = hp >>> 63; hnCarry = hn >>> 63; }
+                else { hpCarry = (hp & last) != 0 ? 1 : 0; hnCarry = (hn & last) != 0 ? 1 : 0; }
+                hp = (hp << 1) | hpIn;
+                hn = (hn << 1) | hnIn;
+                vp[w] = hn | ~(d0 | hp);
+                vn[w] = hp & d0;
+            }
+            score += (int) hpCarry - (int) hnCarry;
+        }
+        return score;
+    }
+
+    private void setPattern(int[] a) {
+        clearPattern();
+        int newBlocks = (a.length + 63) >>> 6;
+        if (newBlocks != blocks) {
+            blocks = newBlocks;
+            direct = new long[DIRECT * blocks];
+            masks = new long[keys.length * blocks];
+        }
+        if (keys.length < 2 * a.length) grow(Integer.highestOneBit(2 * a.length) << 1);
+        for (int i = 0; i < a.length; i++) {
+            int c = a[i], w = i >>> 6;
+            long bit = 1L << (i & 63);
+            if (c < DIRECT) {
+                if (direct[c * blocks + w] == 0 && noBits(direct, c * blocks)) touch(c);
+                direct[c * blocks + w] |= bit;
+            } else {
+                masks[slot(c, true) * blocks + w] |= bit;
+            }
+        }
+    }
+
+    private long peq(int c, int w) {
+        if (c < DIRECT) return direct[c * blocks + w];
+        if (hashedCount == 0) return 0L;
+        int s = slot(c, false);
+        return s < 0 ? 0L : masks[s * blocks + w];
+    }
+
+    private int slot(int c, boolean insert) {
+        int mask = keys.length - 1;
+        for (int s = (c * 0x9E3779B9) >>> 16 & mask; ; s = (s + 1) & mask) {
+            if (keys[s] == c) return s;
+            if (keys[s] == -1) {
+                if (!insert) return -1;
+                keys[s] = c; hashedCount++;
+                return s;
+            }
+        }
+    }
+
+    private void clearPattern() {
+        for (int i = 0; i < touchedCount; i++) Arrays.fill(direct, touched[i] * blocks, touched[i] * blocks + blocks, 0L);
+        touchedCount = 0;
+        if (hashedCount > 0) {
+            Arrays.fill(keys, -1);
+            Arrays.fill(masks, 0L);
+            hashedCount = 0;
+        }
+    }
+
+    private void touch(int c) {
+        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touched.length * 2);
+        touched[touchedCount++] = c;
+    }
+
+    private boolean noBits(long[] table, int from) {
+        for (int w = 0; w < blocks; w++) if (table[from + w] != 0) return false;
+        return true;
+    }
+
+    private void grow(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, -1);
+        masks = new long[capacity * blocks];
+    }
+}
@@ -0,0 +1,30 @@
+package com.language_proximity.engine;
+
+public enum SimilarityMetric {
+    // metric_levenshtein_lexical: normalized Levenshtein on spelling
+    LEXICAL("_lexical", "translated_words.csv", 1.0) {
+        @Override public int[] prepare(String s) { return s.codePoints().toArray(); }
+    },
+    // metric_levenshtein_phonetic: normalized Levenshtein on cleaned IPA, empty strings never match
+    PHONETIC("_phonetic", "translated_words_ipa.csv", 0.0) {
+        @Override public int[] prepare(String s) { return IpaCleaner.clean(s).codePoints().toArray(); }
+    };
+
+    private final String suffix;
+    private final String inputFile;
+    private final double emptyScore;
+
+    SimilarityMetric(String suffix, String inputFile, double emptyScore) {
+        this.suffix = suffix; this.inputFile = inputFile; this.emptyScore = emptyScore;
+    }
+
+    // Code points the edit distance is measured on
+    public abstract int[] prepare(String s);
+
+    public SimilarityKernel newKernel() { return new SimilarityKernel(emptyScore); }
+
+    public double similarity(String s1, String s2) { return newKernel().similarity(prepare(s1), prepare(s2)); }
+
+    public String getSuffix() { return suffix; }
+    public String getInputFile() { return inputFile; }
+}
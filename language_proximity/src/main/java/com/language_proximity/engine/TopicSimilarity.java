@@ -0,0 +1,105 @@
+package com.language_proximity.engine;
+
+import com.language_proximity.model.LanguageMatrix;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Topic x topic cosine similarity of the per-topic language-pair similarity vectors, as calculate_topic_communities
+// pivots them (pairs missing from a topic count as 0). Only the upper triangle is kept, one float per topic pair.
+public final class TopicSimilarity {
+    private final String[] topics;   // sorted, like the pandas pivot index
+    private final float[] upper;     // cosine of (i, j) for i < j, row-major
+
+    private TopicSimilarity(String[] topics, float[] upper) { this.topics = topics; this.upper = upper; }
+
+    public static TopicSimilarity compute(Map<String, LanguageMatrix> byTopic) {
+        String[] topics = byTopic.keySet().toArray(new String[0]);
+        Arrays.sort(topics);
+        int t = topics.length, n = 0;
+        for (LanguageMatrix m : byTopic.values()) n = Math.max(n, m.size());
+
+        // Columns are the language pairs seen in any topic, numbered on first sight
+        int[] column = new int[n * n];
+        Arrays.fill(column, -1);
+        int[] width = {0};
+        for (String topic : topics) {
+            int size = n;
+            byTopic.get(topic).forEachPair((i, j, v) -> { if (column[i * size + j] < 0) column[i * size + j] = width[0]++; });
+        }
+        int p = width[0];
+
+        // Rows are L2-normalised so each cosine is a plain dot product
+        float[] vectors = new float[t * p];
+        for (int r = 0; r < t; r++) {
+            int base = r * p, size = n;
+            byTopic.get(topics[r]).forEachPair((i, j, v) -> vectors[base + column[i * size + j]] = (float) v);
+            double norm = Math.sqrt(dot(vectors, base, vectors, base, p));
+            if (norm > 0) for (int k = 0; k < p; k++) vectors[base + k] /= norm;
+        }
+
+        float[] upper = new float[t * (t - 1) / 2];
+        IntStream.range(0, t).parallel().forEach(i -> {
+            int offset = rowOffset(i, t) - i - 1, j = i + 1;
+            for (; j + 3 < t; j += 4) dot4(vectors, i * p, j * p, p, upper, offset + j);
+            for (; j < t; j++) upper[offset + j] = (float) dot(vectors, i * p, vectors, j * p, p);
+        });
+        return new TopicSimilarity(topics, upper);
+    }
+
+    // Row a against the four consecutive rows starting at b: each element of a is loaded once for four products,
+    // and the four independent accumulators keep the adds pipelined. Java 17 only has the Vector API as an
+    // incubator module, so this register-blocked scalar kernel is what the JIT gets to work with.
+    private static void dot4(float[] v, int a, int b, int len, float[] out, int at) {
+        int b1 = b + len, b2 = b1 + len, b3 = b2 + len;
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        for (int k = 0; k < len; k++) {
+            float x = v[a + k];
+            s0 += x * v[b + k]; s1 += x * v[b1 + k]; s2 += x * v[b2 + k]; s3 += x * v[b3 + k];
+        }
+        out[at] = s0; out[at + 1] = s1; out[at + 2] = s2; out[at + 3] = s3;
+    }
+
+    // Unrolled over four accumulators; used for norms and the rows left over after dot4
+    static double dot(float[] a, int ao, float[] b, int bo, int len) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int k = 0;
+        for (; k + 3 < len; k += 4) {
+            s0 += a[ao + k] * b[bo + k];
+            s1 += a[ao + k + 1] * b[bo + k + 1];
+            s2 += a[ao + k + 2] * b[bo + k + 2];
+            s3 += a[ao + k + 3] * b[bo + k + 3];
+        }
+        for (; k < len; k++) s0 += a[ao + k] * b[bo + k];
+        return s0 + s1 + s2 + s3;
+    }
+
+    private static int rowOffset(int i, int t) { return i * (2 * t - i - 1) / 2; }
+
+    public int size() { return topics.length; }
+    public String topic(int i) { return topics[i]; }
+
+    public double get(int i, int j) {
+        if (i == j) return 1.0;
+        if (i > j) { int x = i; i = j; j = x; }
+        return upper[rowOffset(i, topics.length) + j - i - 1];
+    }
+
+    // Topics linked where cosine exceeds the cutoff, weighted by the cosine
+    public CsrGraph graphAbove(double cutoff) {
+        int t = topics.length, count = 0;
+        for (float v : upper) if (v > cutoff) count++;
+        int[] a = new int[count], b = new int[count];
+        double[] w = new double[count];
+        int k = 0;
+        for (int i = 0; i < t; i++) {
+            int offset = rowOffset(i, t) - i - 1;
+            for (int j = i + 1; j < t; j++) {
+                float v = upper[offset + j];
+                if (v > cutoff) { a[k] = i; b[k] = j; w[k++] = v; }
+            }
+        }
+        return CsrGraph.fromEdges(t, a, b, w, count);
+    }
+}
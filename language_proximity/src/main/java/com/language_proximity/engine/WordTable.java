@@ -0,0 +1,73 @@
+package com.language_proximity.engine;
+
+import com.language_proximity.utils.CsvReader;
+
+import java.io.IOException;
+import java.util.*;
+
+public class WordTable {
+    // Cell values pandas.read_csv turns into NaN (and fillna("") into empty strings)
+    private static final Set<String> NA_VALUES = Set.of("", "#N/A", "#N/A N/A", "#NA", "-1.#IND", "-1.#QNAN", "-NaN", "-nan",
+            "1.#IND", "1.#QNAN", "<NA>", "N/A", "NA", "NULL", "NaN", "None", "n/a", "nan", "null");
+
+    private final String[] languages;
+    private final String[] topics;
+    private final int[] rowTopic;
+    private final String[] sourceWords;
+    private final String[][] cells;
+
+    private WordTable(String[] languages, String[] topics, int[] rowTopic, String[] sourceWords, String[][] cells) {
+        this.languages = languages; this.topics = topics; this.rowTopic = rowTopic;
+        this.sourceWords = sourceWords; this.cells = cells;
+    }
+
+    public static WordTable load(String path) throws IOException {
+        try (CsvReader r = CsvReader.open(path, false)) {
+            if (!r.next()) throw new IOException("Empty input file: " + path);
+            int topicCol = -1, wordCol = -1;
+            for (int i = 0; i < r.size(); i++) {
+                if (r.fieldEquals(i, "topic")) topicCol = i;
+                else if (r.fieldEquals(i, "source_word")) wordCol = i;
+            }
+            if (topicCol < 0 || wordCol < 0) throw new IOException("Missing topic/source_word columns in " + path);
+
+            int[] langCols = new int[r.size() - 2];
+            String[] languages = new String[langCols.length];
+            for (int i = 0, j = 0; i < r.size(); i++) {
+                if (i == topicCol || i == wordCol) continue;
+                langCols[j] = i; languages[j++] = r.getString(i);
+            }
+
+            List<String> topicPerRow = new ArrayList<>(), words = new ArrayList<>();
+            List<String[]> rows = new ArrayList<>();
+            while (r.next()) {
+                String[] row = new String[langCols.length];
+                for (int j = 0; j < langCols.length; j++) row[j] = cell(r, langCols[j]);
+                topicPerRow.add(r.getPooled(topicCol)); words.add(cell(r, wordCol)); rows.add(row);
+            }
+
+            // pandas groupby('topic') iterates topics in sorted order
+            String[] topics = new TreeSet<>(topicPerRow).toArray(new String[0]);
+            Map<String, Integer> topicIndex = new HashMap<>();
+            for (int i = 0; i < topics.length; i++) topicIndex.put(topics[i], i);
+            int[] rowTopic = new int[rows.size()];
+            for (int i = 0; i < rowTopic.length; i++) rowTopic[i] = topicIndex.get(topicPerRow.get(i));
+
+            return new WordTable(languages, topics, rowTopic, words.toArray(new String[0]), rows.toArray(new String[0][]));
+        }
+    }
+
+    private static String cell(CsvReader r, int i) {
+        if (i >= r.size()) return "";
+        String v = r.getString(i);
+        return NA_VALUES.contains(v) ? "" : v;
+    }
+
+    public int rowCount() { return cells.length; }
+    public int languageCount() { return languages.length; }
+    public String[] getLanguages() { return languages; }
+    public String[] getTopics() { return topics; }
+    public int getTopicIndex(int row) { return rowTopic[row]; }
+    public String getSourceWord(int row) { return sourceWords[row]; }
+    public String[] getRow(int row) { return cells[row]; }
+}
@@ -0,0 +1,84 @@
+package com.language_proximity.model;
+
+import java.util.*;
+
+// Immutable view of every dataset file for one analysis mode. DataManager publishes a new instance per reload,
+// so readers either see the previous snapshot or the complete new one. Partial snapshots built while a load is
+// still running only reach that load's listener.
+public final class DatasetSnapshot {
+    public static final DatasetSnapshot EMPTY = create();
+
+    private final String suffix;
+    private final LanguageRegistry languages;
+    private final Map<String, LanguageMatrix> topicMatrices;
+    private final LanguageMatrix globalMatrix;
+    private final WordOutlierStore wordOutliers;
+    private final List<TopicOutlierRecord> topicOutlierData;
+    private final TopicOutlierIndex topicOutliers;
+    private final Map<String, Map<String, Integer>> languageCommunityData;
+    private final Map<String, Integer> topicMetaClusters;
+    private final Map<Integer, List<String>> metaClusterMembers;
+    private final long estimatedBytes;
+
+    public DatasetSnapshot(String suffix, LanguageRegistry languages, Map<String, LanguageMatrix> topicMatrices, LanguageMatrix globalMatrix,
+                           WordOutlierStore wordOutliers, List<TopicOutlierRecord> topicOutlierData,
+                           Map<String, Map<String, Integer>> languageCommunityData, Map<String, Integer> topicMetaClusters,
+                           Map<Integer, List<String>> metaClusterMembers) {
+        this.suffix = suffix;
+        this.languages = languages;
+        this.topicMatrices = Collections.unmodifiableMap(topicMatrices);
+        this.globalMatrix = globalMatrix;
+        this.wordOutliers = wordOutliers;
+        this.topicOutlierData = Collections.unmodifiableList(topicOutlierData);
+        this.topicOutliers = new TopicOutlierIndex(this.topicOutlierData);
+        this.languageCommunityData = freezeNested(languageCommunityData);
+        this.topicMetaClusters = Collections.unmodifiableMap(topicMetaClusters);
+        this.metaClusterMembers = freezeLists(metaClusterMembers);
+        this.estimatedBytes = estimate();
+    }
+
+    // Rough retained heap: object headers, boxed values and hash entries plus the char data of per-row strings
+    private long estimate() {
+        long bytes = 8L * globalMatrix.size() * globalMatrix.size();
+        for (LanguageMatrix m : topicMatrices.values()) bytes += 8L * m.size() * m.size();
+        bytes += wordOutliers.estimateBytes();
+        bytes += 160L * topicOutlierData.size();
+        for (Map<String, Integer> m : languageCommunityData.values()) bytes += 64L * m.size();
+        return bytes + 64L * topicMetaClusters.size();
+    }
+
+    private static DatasetSnapshot create() {
+        LanguageRegistry r = new LanguageRegistry();
+        return new DatasetSnapshot("", r, new HashMap<>(), LanguageMatrix.empty(r), WordOutlierStore.empty(r),
+                new ArrayList<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    private static <K, V> Map<K, Map<String, V>> freezeNested(Map<K, Map<String, V>> m) {
+        m.replaceAll((k, v) -> Collections.unmodifiableMap(v));
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static <K, V> Map<K, List<V>> freezeLists(Map<K, List<V>> m) {
+        m.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return Collections.unmodifiableMap(m);
+    }
+
+    public boolean isEmpty() { return globalMatrix.isEmpty(); }
+    public long estimateBytes() { return estimatedBytes; }
+
+    public String getSuffix() { return suffix; }
+    public LanguageRegistry getLanguages() { return languages; }
+    public Map<String, LanguageMatrix> getTopicMatrices() { return topicMatrices; }
+    public LanguageMatrix getGlobalMatrix() { return globalMatrix; }
+    public WordOutlierStore getWordOutliers() { return wordOutliers; }
+    public List<TopicOutlierRecord> getTopicOutlierData() { return topicOutlierData; }
+    public TopicOutlierIndex getTopicOutliers() { return topicOutliers; }
+
+    // Word outliers of one topic, or the prebuilt view of every row for the Global scope
+    public WordOutlierView getWordOutliers(String scope) {
+        return TopicOutlierIndex.GLOBAL.equals(scope) ? wordOutliers.all() : wordOutliers.forTopic(scope);
+    }
+    public Map<String, Map<String, Integer>> getLanguageCommunityData() { return languageCommunityData; }
+    public Map<String, Integer> getTopicMetaClusters() { return topicMetaClusters; }
+    public Map<Integer, List<String>> getMetaClusterMembers() { return metaClusterMembers; }
+}
@@ -0,0 +1,81 @@
+package com.language_proximity.model;
+
+import java.util.Arrays;
+
+// Symmetric language x language similarity matrix backed by a flat double[]; missing pairs are NaN.
+public final class LanguageMatrix {
+    private final LanguageRegistry registry;
+    private final int n;
+    private final double[] values;
+    private final int[] languages;
+    private final int pairCount;
+
+    private LanguageMatrix(LanguageRegistry registry, int n, double[] values, int[] languages, int pairCount) {
+        this.registry = registry; this.n = n; this.values = values; this.languages = languages; this.pairCount = pairCount;
+    }
+
+    public static LanguageMatrix empty(LanguageRegistry registry) { return new Builder().build(registry); }
+
+    public LanguageRegistry getRegistry() { return registry; }
+    public int size() { return n; }
+    public int pairCount() { return pairCount; }
+    public boolean isEmpty() { return pairCount == 0; }
+
+    // Indices of languages that have at least one pair, ordered by language code
+    public int[] getLanguages() { return languages; }
+
+    public boolean contains(int i, int j) { return i == j || !Double.isNaN(values[i * n + j]); }
+
+    public double get(int i, int j) { return i == j ? 1.0 : values[i * n + j]; }
+
+    public double get(String code1, String code2) {
+        int i = registry.indexOf(code1), j = registry.indexOf(code2);
+        return i < 0 || j < 0 || i >= n || j >= n ? Double.NaN : get(i, j);
+    }
+
+    public void forEachPair(PairVisitor v) {
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = values[i * n + j];
+                if (!Double.isNaN(d)) v.visit(i, j, d);
+            }
+        }
+    }
+
+    public interface PairVisitor { void visit(int i, int j, double value); }
+
+    public static final class Builder {
+        private int[] is = new int[128], js = new int[128];
+        private double[] vs = new double[128];
+        private int count;
+
+        public void add(int i, int j, double value) {
+            if (count == is.length) {
+                is = Arrays.copyOf(is, count * 2); js = Arrays.copyOf(js, count * 2); vs = Arrays.copyOf(vs, count * 2);
+            }
+            is[count] = i; js[count] = j; vs[count++] = value;
+        }
+
+        public LanguageMatrix build(LanguageRegistry registry) {
+            int n = registry.size();
+            double[] values = new double[n * n];
+            Arrays.fill(values, Double.NaN);
+            boolean[] present = new boolean[n];
+            int pairs = 0;
+            for (int k = 0; k < count; k++) {
+                if (is[k] == js[k]) continue;
+                if (Double.isNaN(values[is[k] * n + js[k]])) pairs++;
+                values[is[k] * n + js[k]] = vs[k];
+                values[js[k] * n + is[k]] = vs[k];
+                present[is[k]] = true; present[js[k]] = true;
+            }
+            Integer[] order = new Integer[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) if (present[i]) order[m++] = i;
+            Arrays.sort(order, 0, m, (a, b) -> registry.code(a).compareTo(registry.code(b)));
+            int[] languages = new int[m];
+            for (int i = 0; i < m; i++) languages[i] = order[i];
+            return new LanguageMatrix(registry, n, values, languages, pairs);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.language_proximity.model;
+
+import java.util.*;
+
+// Interns language codes to dense indices shared by every LanguageMatrix of a snapshot.
+// Loaders intern concurrently while parsing; afterwards the registry is only read. A reload of some files interns
+// into a copy, so the registry of a published snapshot never grows.
+public final class LanguageRegistry {
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+
+    public synchronized int intern(String code) {
+        Integer i = index.get(code);
+        if (i != null) return i;
+        codes.add(code);
+        index.put(code, codes.size() - 1);
+        return codes.size() - 1;
+    }
+
+    // Same codes at the same indices, so matrices built on this registry stay valid with the copy
+    public synchronized LanguageRegistry copy() {
+        LanguageRegistry r = new LanguageRegistry();
+        for (String code : codes) r.intern(code);
+        return r;
+    }
+
+    public synchronized int indexOf(String code) { return index.getOrDefault(code, -1); }
+    public synchronized String code(int i) { return codes.get(i); }
+    public synchronized int size() { return codes.size(); }
+}
@@ -0,0 +1,167 @@
+package com.language_proximity.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Binary layout of a DatasetSnapshot. Primitive columns are written as contiguous big-endian arrays so the
+// file's bytes can be bulk-copied into the matrices and outlier columns without any text parsing.
+public final class SnapshotCodec {
+    private static final int MAGIC = 0x4C50534E; // "LPSN"
+    private static final int VERSION = 1;
+
+    private SnapshotCodec() {}
+
+    public static void write(DatasetSnapshot s, long[] sourceKey, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC); out.writeInt(VERSION);
+        writeLongs(out, sourceKey);
+        writeString(out, s.getSuffix());
+
+        LanguageRegistry reg = s.getLanguages();
+        out.writeInt(reg.size());
+        for (int i = 0; i < reg.size(); i++) writeString(out, reg.code(i));
+
+        writeMatrix(out, s.getGlobalMatrix());
+        out.writeInt(s.getTopicMatrices().size());
+        for (Map.Entry<String, LanguageMatrix> e : s.getTopicMatrices().entrySet()) {
+            writeString(out, e.getKey());
+            writeMatrix(out, e.getValue());
+        }
+
+        WordOutlierStore w = s.getWordOutliers();
+        writeStrings(out, w.topicNames()); writeStrings(out, w.typeNames()); writeStrings(out, w.words());
+        out.writeInt(w.size());
+        for (int[] col : w.intColumns()) for (int v : col) out.writeInt(v);
+        for (float[] col : w.floatColumns()) for (float v : col) out.writeFloat(v);
+
+        out.writeInt(s.getTopicOutlierData().size());
+        for (TopicOutlierRecord r : s.getTopicOutlierData()) {
+            writeString(out, r.topic); writeString(out, r.lang1); writeString(out, r.lang2); writeString(out, r.outlierType);
+            out.writeDouble(r.topicSim); out.writeDouble(r.globalSim); out.writeDouble(r.difference); out.writeDouble(r.zScore);
+        }
+
+        out.writeInt(s.getLanguageCommunityData().size());
+        for (Map.Entry<String, Map<String, Integer>> e : s.getLanguageCommunityData().entrySet()) {
+            writeString(out, e.getKey());
+            writeIntMap(out, e.getValue());
+        }
+        writeIntMap(out, s.getTopicMetaClusters());
+    }
+
+    // Returns null when the buffer was written for different source files or by another format version
+    public static DatasetSnapshot read(ByteBuffer in, long[] sourceKey) {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) return null;
+        if (!Arrays.equals(readLongs(in), sourceKey)) return null;
+        String suffix = readString(in);
+
+        LanguageRegistry reg = new LanguageRegistry();
+        int langs = in.getInt();
+        for (int i = 0; i < langs; i++) reg.intern(readString(in));
+
+        LanguageMatrix global = readMatrix(in, reg);
+        int topicCount = in.getInt();
+        Map<String, LanguageMatrix> topics = new HashMap<>();
+        for (int t = 0; t < topicCount; t++) topics.put(readString(in), readMatrix(in, reg));
+
+        String[] topicNames = readStrings(in), typeNames = readStrings(in), words = readStrings(in);
+        int rows = in.getInt();
+        int[][] ints = new int[7][rows];
+        for (int[] col : ints) { in.asIntBuffer().get(col); in.position(in.position() + 4 * rows); }
+        float[][] floats = new float[4][rows];
+        for (float[] col : floats) { in.asFloatBuffer().get(col); in.position(in.position() + 4 * rows); }
+        WordOutlierStore words2 = new WordOutlierStore(reg, topicNames, typeNames, words,
+                ints[0], ints[1], ints[2], ints[3], ints[4], ints[5], ints[6], floats[0], floats[1], floats[2], floats[3]);
+
+        int topicOutliers = in.getInt();
+        List<TopicOutlierRecord> topicRecords = new ArrayList<>(topicOutliers);
+        for (int i = 0; i < topicOutliers; i++) {
+            TopicOutlierRecord r = new TopicOutlierRecord();
+            r.topic = readString(in); r.lang1 = readString(in); r.lang2 = readString(in); r.outlierType = readString(in);
+            r.topicSim = in.getDouble(); r.globalSim = in.getDouble(); r.difference = in.getDouble(); r.zScore = in.getDouble();
+            topicRecords.add(r);
+        }
+
+        int scopes = in.getInt();
+        Map<String, Map<String, Integer>> communities = new HashMap<>();
+        for (int i = 0; i < scopes; i++) communities.put(readString(in), readIntMap(in));
+        Map<String, Integer> clusters = readIntMap(in);
+        Map<Integer, List<String>> members = new HashMap<>();
+        clusters.forEach((t, id) -> members.computeIfAbsent(id, k -> new ArrayList<>()).add(t));
+        members.values().forEach(Collections::sort);
+
+        return new DatasetSnapshot(suffix, reg, topics, global, words2, topicRecords, communities, clusters, members);
+    }
+
+    private static void writeMatrix(DataOutputStream out, LanguageMatrix m) throws IOException {
+        out.writeInt(m.pairCount());
+        IOException[] failure = new IOException[1];
+        m.forEachPair((i, j, v) -> {
+            try { out.writeInt(i); out.writeInt(j); out.writeDouble(v); } catch (IOException e) { failure[0] = e; }
+        });
+        if (failure[0] != null) throw failure[0];
+    }
+
+    private static LanguageMatrix readMatrix(ByteBuffer in, LanguageRegistry reg) {
+        LanguageMatrix.Builder b = new LanguageMatrix.Builder();
+        int pairs = in.getInt();
+        for (int k = 0; k < pairs; k++) b.add(in.getInt(), in.getInt(), in.getDouble());
+        return b.build(reg);
+    }
+
+    private static void writeIntMap(DataOutputStream out, Map<String, Integer> m) throws IOException {
+        out.writeInt(m.size());
+        for (Map.Entry<String, Integer> e : m.entrySet()) { writeString(out, e.getKey()); out.writeInt(e.getValue()); }
+    }
+
+    private static Map<String, Integer> readIntMap(ByteBuffer in) {
+        int n = in.getInt();
+        Map<String, Integer> m = new HashMap<>();
+        for (int i = 0; i < n; i++) m.put(readString(in), in.getInt());
+        return m;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] v) throws IOException {
+        out.writeInt(v.length);
+        for (long l : v) out.writeLong(l);
+    }
+
+    private static long[] readLongs(ByteBuffer in) {
+        long[] v = new long[in.getInt()];
+        for (int i = 0; i < v.length; i++) v[i] = in.getLong();
+        return v;
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] v) throws IOException {
+        out.writeInt(v.length);
+        for (String s : v) writeString(out, s);
+    }
+
+    private static String[] readStrings(ByteBuffer in) {
+        String[] v = new String[in.getInt()];
+        for (int i = 0; i < v.length; i++) v[i] = readString(in);
+        return v;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int len = in.getInt();
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+        } else {
+            byte[] b = new byte[len];
+            in.get(b, 0, len);
+            in.position(in.position() - len);
+            s = new String(b, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + len);
+        return s;
+    }
+}
@@ -0,0 +1,45 @@
+package com.language_proximity.model;
+
+import java.util.*;
+
+// Lookups over outliers_topics_*.csv built once per snapshot: by topic, by language pair ("lang1|lang2",
+// either order) and by outlier type. Every list is unmodifiable and shared, so scope changes never scan or copy.
+public final class TopicOutlierIndex {
+    public static final String GLOBAL = "Global";
+
+    private final List<TopicOutlierRecord> all;
+    private final Map<String, List<TopicOutlierRecord>> byTopic, byPair, byType;
+    private final Map<String, Integer> positiveByTopic = new HashMap<>();
+
+    TopicOutlierIndex(List<TopicOutlierRecord> records) {
+        this.all = records;
+        Map<String, List<TopicOutlierRecord>> topics = new HashMap<>(), pairs = new HashMap<>(), types = new HashMap<>();
+        for (TopicOutlierRecord r : records) {
+            topics.computeIfAbsent(r.topic, k -> new ArrayList<>()).add(r);
+            pairs.computeIfAbsent(pairKey(r.lang1, r.lang2), k -> new ArrayList<>()).add(r);
+            types.computeIfAbsent(r.outlierType, k -> new ArrayList<>()).add(r);
+            if ("Positive".equals(r.outlierType)) positiveByTopic.merge(r.topic, 1, Integer::sum);
+        }
+        byTopic = freeze(topics); byPair = freeze(pairs); byType = freeze(types);
+    }
+
+    private static Map<String, List<TopicOutlierRecord>> freeze(Map<String, List<TopicOutlierRecord>> m) {
+        m.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static String pairKey(String a, String b) { return a.compareTo(b) <= 0 ? a + "|" + b : b + "|" + a; }
+
+    public List<TopicOutlierRecord> all() { return all; }
+
+    // The Global scope maps to every record
+    public List<TopicOutlierRecord> forScope(String scope) { return GLOBAL.equals(scope) ? all : forTopic(scope); }
+    public List<TopicOutlierRecord> forTopic(String topic) { return byTopic.getOrDefault(topic, Collections.emptyList()); }
+    public List<TopicOutlierRecord> forPair(String lang1, String lang2) { return byPair.getOrDefault(pairKey(lang1, lang2), Collections.emptyList()); }
+    public List<TopicOutlierRecord> forType(String type) { return byType.getOrDefault(type, Collections.emptyList()); }
+    public Set<String> getTopics() { return byTopic.keySet(); }
+
+    public int positiveCount(String scope) {
+        return GLOBAL.equals(scope) ? forType("Positive").size() : positiveByTopic.getOrDefault(scope, 0);
+    }
+}
@@ -1,18 +1,20 @@
 package com.language_proximity.model;
 
-import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.CsvReader;
 
 public class TopicOutlierRecord {
     public String topic, lang1, lang2, outlierType;
     public double topicSim, globalSim, difference, zScore;
 
-    public TopicOutlierRecord(String[] d) {
-        if (d.length < 10) return;
-        this.topic = d[0]; this.lang1 = d[1]; this.lang2 = d[2];
-        this.topicSim = Constants.parseDoubleSafe(d[3]);
-        this.globalSim = Constants.parseDoubleSafe(d[4]);
-        this.difference = Constants.parseDoubleSafe(d[5]);
-        this.zScore = Constants.parseDoubleSafe(d[8]);
-        this.outlierType = d[9];
+    TopicOutlierRecord() {}
+
+    public TopicOutlierRecord(CsvReader r) {
+        if (r.size() < 10) return;
+        this.topic = r.getPooled(0); this.lang1 = r.getPooled(1); this.lang2 = r.getPooled(2);
+        this.topicSim = r.getDouble(3, 0.0);
+        this.globalSim = r.getDouble(4, 0.0);
+        this.difference = r.getDouble(5, 0.0);
+        this.zScore = r.getDouble(8, 0.0);
+        this.outlierType = r.getPooled(9);
     }
-}
\ No newline at end of file
+}
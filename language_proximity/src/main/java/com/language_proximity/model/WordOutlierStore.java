@@ -0,0 +1,192 @@
+package com.language_proximity.model;
+
+import com.language_proximity.utils.CsvReader;
+
+import java.util.*;
+
+// Column store for outliers_words_*.csv. Topics, languages and outlier types are dictionary-encoded ints,
+// words are ids into a shared string pool and the statistics are float columns. Rows are grouped by topic
+// so every topic (and the Global scope) is a contiguous WordOutlierView without copying; language pairs and
+// outlier types get row-id views built once at load time.
+public final class WordOutlierStore {
+    private final LanguageRegistry languages;
+    private final String[] topicNames, typeNames, words;
+    private final int[] topic, lang1, lang2, sourceWord, word1, word2, type;
+    private final float[] similarity, mean, std, zScore;
+    private final int size;
+    private final int positiveType;
+    private final Map<String, WordOutlierView> byTopic = new HashMap<>();
+    private final WordOutlierView all;
+    private final int pairStride;
+    private final WordOutlierView[] byPair, byType;
+    private volatile WordSearchIndex searchIndex;
+
+    // Columns must already be grouped by topic id
+    WordOutlierStore(LanguageRegistry languages, String[] topicNames, String[] typeNames, String[] words,
+                     int[] topic, int[] lang1, int[] lang2, int[] sourceWord, int[] word1, int[] word2, int[] type,
+                     float[] similarity, float[] mean, float[] std, float[] zScore) {
+        this.languages = languages;
+        this.topicNames = topicNames; this.typeNames = typeNames; this.words = words;
+        this.topic = topic; this.lang1 = lang1; this.lang2 = lang2;
+        this.sourceWord = sourceWord; this.word1 = word1; this.word2 = word2; this.type = type;
+        this.similarity = similarity; this.mean = mean; this.std = std; this.zScore = zScore;
+        this.size = topic.length;
+        this.positiveType = Arrays.asList(typeNames).indexOf("Positive");
+
+        for (int start = 0, end; start < size; start = end) {
+            end = start;
+            while (end < size && topic[end] == topic[start]) end++;
+            byTopic.put(topicNames[topic[start]], new WordOutlierView(this, start, end));
+        }
+        all = new WordOutlierView(this, 0, size);
+
+        pairStride = languages.size();
+        int[] pairKey = new int[size];
+        for (int r = 0; r < size; r++) pairKey[r] = pairKey(lang1[r], lang2[r]);
+        byPair = groupRows(pairKey, pairStride * pairStride);
+        byType = groupRows(type, typeNames.length);
+    }
+
+    // Row ids bucketed by key in a single counting pass; rows stay in topic order within each bucket
+    private WordOutlierView[] groupRows(int[] keys, int keyCount) {
+        int[] counts = new int[keyCount];
+        for (int r = 0; r < size; r++) counts[keys[r]]++;
+        int[][] rows = new int[keyCount][];
+        for (int k = 0; k < keyCount; k++) rows[k] = new int[counts[k]];
+        int[] fill = new int[keyCount];
+        for (int r = 0; r < size; r++) rows[keys[r]][fill[keys[r]]++] = r;
+        WordOutlierView[] views = new WordOutlierView[keyCount];
+        for (int k = 0; k < keyCount; k++) views[k] = new WordOutlierView(this, rows[k]);
+        return views;
+    }
+
+    private int pairKey(int i, int j) { return Math.min(i, j) * pairStride + Math.max(i, j); }
+
+    public static WordOutlierStore empty(LanguageRegistry languages) { return new Builder().build(languages); }
+
+    public int size() { return size; }
+    public WordOutlierView all() { return all; }
+    public WordOutlierView forTopic(String topic) { return byTopic.getOrDefault(topic, new WordOutlierView(this, 0, 0)); }
+    public WordOutlierView forPair(int lang1, int lang2) {
+        if (lang1 < 0 || lang2 < 0 || lang1 >= pairStride || lang2 >= pairStride) return new WordOutlierView(this, 0, 0);
+        return byPair[pairKey(lang1, lang2)];
+    }
+    public WordOutlierView forType(String type) {
+        int t = Arrays.asList(typeNames).indexOf(type);
+        return t < 0 ? new WordOutlierView(this, 0, 0) : byType[t];
+    }
+
+    // Built on first use and then shared by every view of this store
+    public WordSearchIndex searchIndex() {
+        WordSearchIndex ix = searchIndex;
+        if (ix == null) {
+            synchronized (this) {
+                if ((ix = searchIndex) == null) searchIndex = ix = new WordSearchIndex(this);
+            }
+        }
+        return ix;
+    }
+
+    public Set<String> getTopics() { return Collections.unmodifiableSet(byTopic.keySet()); }
+    public LanguageRegistry getLanguages() { return languages; }
+    // Registry size when the store was built; language ids of its rows are below it even if the registry grows later
+    public int languageCount() { return pairStride; }
+
+    public String getTopic(int row) { return topicNames[topic[row]]; }
+    public int getTopicId(int row) { return topic[row]; }
+    public String getSourceWord(int row) { return words[sourceWord[row]]; }
+    public int getLang1(int row) { return lang1[row]; }
+    public int getLang2(int row) { return lang2[row]; }
+    public String getLang1Code(int row) { return languages.code(lang1[row]); }
+    public String getLang2Code(int row) { return languages.code(lang2[row]); }
+    public String getWord1(int row) { return words[word1[row]]; }
+    public String getWord2(int row) { return words[word2[row]]; }
+    public float getSimilarity(int row) { return similarity[row]; }
+    public float getMean(int row) { return mean[row]; }
+    public float getStd(int row) { return std[row]; }
+    public float getZScore(int row) { return zScore[row]; }
+    public String getType(int row) { return typeNames[type[row]]; }
+    public boolean isPositive(int row) { return type[row] == positiveType; }
+
+    // Raw columns for SnapshotCodec
+    String[] topicNames() { return topicNames; }
+    String[] typeNames() { return typeNames; }
+    String[] words() { return words; }
+    int[][] intColumns() { return new int[][]{topic, lang1, lang2, sourceWord, word1, word2, type}; }
+    float[][] floatColumns() { return new float[][]{similarity, mean, std, zScore}; }
+
+    public long estimateBytes() {
+        long bytes = 44L * size;
+        for (String w : words) bytes += 40 + w.length();
+        return bytes;
+    }
+
+    private static int[] permute(int[] col, int[] order) {
+        int[] out = new int[order.length];
+        for (int i = 0; i < order.length; i++) out[i] = col[order[i]];
+        return out;
+    }
+
+    private static float[] permute(float[] col, int[] order) {
+        float[] out = new float[order.length];
+        for (int i = 0; i < order.length; i++) out[i] = col[order[i]];
+        return out;
+    }
+
+    public static final class Builder {
+        private final List<String> topicNames = new ArrayList<>(), typeNames = new ArrayList<>(), words = new ArrayList<>();
+        private final Map<String, Integer> topicIds = new HashMap<>(), typeIds = new HashMap<>(), wordIds = new HashMap<>();
+        private int[] topic = new int[1024], lang1 = new int[1024], lang2 = new int[1024];
+        private int[] sourceWord = new int[1024], word1 = new int[1024], word2 = new int[1024], type = new int[1024];
+        private float[] similarity = new float[1024], mean = new float[1024], std = new float[1024], zScore = new float[1024];
+        private int size;
+
+        // Expects a row of outliers_words_*.csv with at least 11 fields
+        public void add(CsvReader r, LanguageRegistry languages) {
+            if (size == topic.length) grow();
+            topic[size] = id(r.getPooled(0), topicIds, topicNames);
+            sourceWord[size] = id(r.getPooled(1), wordIds, words);
+            lang1[size] = languages.intern(r.getPooled(2));
+            lang2[size] = languages.intern(r.getPooled(3));
+            word1[size] = id(r.getPooled(4), wordIds, words);
+            word2[size] = id(r.getPooled(5), wordIds, words);
+            similarity[size] = (float) r.getDouble(6, 0.0);
+            mean[size] = (float) r.getDouble(7, 0.0);
+            std[size] = (float) r.getDouble(8, 0.0);
+            zScore[size] = (float) r.getDouble(9, 0.0);
+            type[size] = id(r.getPooled(10), typeIds, typeNames);
+            size++;
+        }
+
+        public WordOutlierStore build(LanguageRegistry languages) {
+            // Counting sort by topic id keeps the file order inside each topic
+            int topics = topicNames.size();
+            int[] start = new int[topics + 1];
+            for (int r = 0; r < size; r++) start[topic[r] + 1]++;
+            for (int t = 0; t < topics; t++) start[t + 1] += start[t];
+            int[] order = new int[size];
+            for (int r = 0; r < size; r++) order[start[topic[r]]++] = r;
+
+            return new WordOutlierStore(languages, topicNames.toArray(new String[0]), typeNames.toArray(new String[0]), words.toArray(new String[0]),
+                    permute(topic, order), permute(lang1, order), permute(lang2, order),
+                    permute(sourceWord, order), permute(word1, order), permute(word2, order), permute(type, order),
+                    permute(similarity, order), permute(mean, order), permute(std, order), permute(zScore, order));
+        }
+
+        private static int id(String s, Map<String, Integer> ids, List<String> names) {
+            Integer i = ids.get(s);
+            if (i != null) return i;
+            names.add(s); ids.put(s, names.size() - 1);
+            return names.size() - 1;
+        }
+
+        private void grow() {
+            int n = topic.length * 2;
+            topic = Arrays.copyOf(topic, n); lang1 = Arrays.copyOf(lang1, n); lang2 = Arrays.copyOf(lang2, n);
+            sourceWord = Arrays.copyOf(sourceWord, n); word1 = Arrays.copyOf(word1, n); word2 = Arrays.copyOf(word2, n);
+            type = Arrays.copyOf(type, n);
+            similarity = Arrays.copyOf(similarity, n); mean = Arrays.copyOf(mean, n);
+            std = Arrays.copyOf(std, n); zScore = Arrays.copyOf(zScore, n);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.language_proximity.model;
+
+import java.util.Arrays;
+
+// A subset of WordOutlierStore rows: either a contiguous range or an explicit list of row ids.
+public final class WordOutlierView {
+    private final WordOutlierStore store;
+    private final int from, to;
+    private final int[] rows;
+
+    WordOutlierView(WordOutlierStore store, int from, int to) {
+        this.store = store; this.from = from; this.to = to; this.rows = null;
+    }
+
+    public WordOutlierView(WordOutlierStore store, int[] rows) {
+        this.store = store; this.from = 0; this.to = rows.length; this.rows = rows;
+    }
+
+    public WordOutlierStore store() { return store; }
+    public int size() { return to - from; }
+    public boolean isEmpty() { return to == from; }
+
+    // Store row id of the i-th row in this view
+    public int row(int i) { return rows == null ? from + i : rows[i]; }
+
+    // The rows of this view that also appear in sortedRows (ascending store row ids)
+    public WordOutlierView filter(int[] sortedRows) {
+        if (rows != null) return new WordOutlierView(store, WordSearchIndex.intersect(rows, sortedRows));
+        int lo = Arrays.binarySearch(sortedRows, from), hi = Arrays.binarySearch(sortedRows, to);
+        lo = lo < 0 ? -lo - 1 : lo;
+        hi = hi < 0 ? -hi - 1 : hi;
+        return new WordOutlierView(store, Arrays.copyOfRange(sortedRows, lo, hi));
+    }
+}
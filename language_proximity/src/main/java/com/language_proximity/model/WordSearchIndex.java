@@ -0,0 +1,136 @@
+package com.language_proximity.model;
+
+import com.language_proximity.utils.Constants;
+
+import java.util.*;
+
+// Case-insensitive search over a WordOutlierStore. Every distinct searchable string (source and translated words,
+// topics, language names, outlier types) is a term with a sorted posting list of store rows; a trigram index over
+// the terms finds candidate terms for a query without scanning them all. Results are sorted row-id arrays.
+public final class WordSearchIndex {
+    private final int rowCount;
+    private final String[] terms;     // lower-cased
+    private final int[][] postings;   // ascending row ids per term
+    private final Map<Long, int[]> trigrams = new HashMap<>();  // ascending term ids per trigram
+
+    WordSearchIndex(WordOutlierStore store) {
+        rowCount = store.size();
+        String[] words = store.words(), topics = store.topicNames(), types = store.typeNames();
+        LanguageRegistry langs = store.getLanguages();
+        int[][] cols = store.intColumns();
+
+        int topicBase = words.length, langBase = topicBase + topics.length, typeBase = langBase + store.languageCount();
+        terms = new String[typeBase + types.length];
+        for (int i = 0; i < words.length; i++) terms[i] = lower(words[i]);
+        for (int i = 0; i < topics.length; i++) terms[topicBase + i] = lower(topics[i]);
+        for (int i = 0; i < store.languageCount(); i++) terms[langBase + i] = lower(Constants.getFullLangName(langs.code(i)));
+        for (int i = 0; i < types.length; i++) terms[typeBase + i] = lower(types[i]);
+
+        // Columns in intColumns() order: topic, lang1, lang2, sourceWord, word1, word2, type
+        int[] bases = {topicBase, langBase, langBase, 0, 0, 0, typeBase};
+        int[] counts = new int[terms.length], last = new int[terms.length];
+        postings = new int[terms.length][];
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                for (int t = 0; t < terms.length; t++) postings[t] = new int[counts[t]];
+                Arrays.fill(counts, 0);
+            }
+            Arrays.fill(last, -1);
+            for (int r = 0; r < rowCount; r++) {
+                for (int c = 0; c < bases.length; c++) {
+                    int t = bases[c] + cols[c][r];
+                    if (last[t] == r) continue;
+                    last[t] = r;
+                    if (pass == 1) postings[t][counts[t]] = r;
+                    counts[t]++;
+                }
+            }
+        }
+
+        Map<Long, int[]> grams = new HashMap<>();
+        for (int t = 0; t < terms.length; t++) {
+            String s = terms[t];
+            for (int i = 0; i + 3 <= s.length(); i++) {
+                long g = gram(s, i);
+                int[] list = grams.get(g);   // list[0] is the fill count
+                if (list == null) grams.put(g, new int[]{1, t});
+                else if (list[list[0]] != t) {
+                    if (list[0] + 1 == list.length) grams.put(g, list = Arrays.copyOf(list, list.length * 2));
+                    list[++list[0]] = t;
+                }
+            }
+        }
+        grams.forEach((g, list) -> trigrams.put(g, Arrays.copyOfRange(list, 1, list[0] + 1)));
+    }
+
+    // Rows matching every whitespace-separated token; a token starting with '^' must match the start of a term.
+    // Tokens without letters or digits ("-", "/") are separators copied from rendered labels and are skipped
+    public int[] search(String query) {
+        int[] result = null;
+        for (String token : lower(query).trim().split("\\s+")) {
+            if (token.isEmpty()) continue;
+            boolean prefix = token.startsWith("^");
+            if (prefix) token = token.substring(1);
+            if (!searchable(token)) continue;
+            int[] rows = rowsFor(token, prefix);
+            result = result == null ? rows : intersect(result, rows);
+            if (result.length == 0) break;
+        }
+        return result == null ? allRows() : result;
+    }
+
+    private static boolean searchable(String token) {
+        return token.codePoints().anyMatch(Character::isLetterOrDigit);
+    }
+
+    private int[] rowsFor(String token, boolean prefix) {
+        BitSet hits = new BitSet(rowCount);
+        int[] candidates = candidateTerms(token);
+        int n = candidates == null ? terms.length : candidates.length;
+        for (int k = 0; k < n; k++) {
+            int t = candidates == null ? k : candidates[k];
+            String term = terms[t];
+            if (prefix ? !term.startsWith(token) : !term.contains(token)) continue;
+            for (int r : postings[t]) hits.set(r);
+        }
+        int[] rows = new int[hits.cardinality()];
+        for (int r = hits.nextSetBit(0), k = 0; r >= 0; r = hits.nextSetBit(r + 1)) rows[k++] = r;
+        return rows;
+    }
+
+    // Terms containing every trigram of the token, or null when the token is too short to use the index
+    private int[] candidateTerms(String token) {
+        if (token.length() < 3) return null;
+        int[] result = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            int[] terms = trigrams.get(gram(token, i));
+            if (terms == null) return new int[0];
+            result = result == null ? terms : intersect(result, terms);
+            if (result.length == 0) break;
+        }
+        return result;
+    }
+
+    private int[] allRows() {
+        int[] rows = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) rows[i] = i;
+        return rows;
+    }
+
+    public static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static String lower(String s) { return s.toLowerCase(Locale.ROOT); }
+
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
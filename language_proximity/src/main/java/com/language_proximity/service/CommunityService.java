@@ -0,0 +1,83 @@
+package com.language_proximity.service;
+
+import com.language_proximity.engine.CsrGraph;
+import com.language_proximity.engine.Leiden;
+import com.language_proximity.engine.TopicSimilarity;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Re-partitions a proximity matrix with Leiden for a given edge threshold and resolution, and groups topics by the
+// cosine similarity of their language-pair profiles. Matrices and topic maps belong to one immutable snapshot and
+// compare by identity, so they key results for that scope.
+public class CommunityService {
+    private static final int MAX_ENTRIES = 512, MAX_TOPIC_SETS = 4;
+    private static final long SEED = 42;   // fixed so the same inputs always give the same communities
+
+    private final LinkedHashMap<List<Object>, Map<String, Integer>> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<List<Object>, Map<String, Integer>> eldest) { return size() > MAX_ENTRIES; }
+    };
+
+    private final LinkedHashMap<Map<String, LanguageMatrix>, TopicSimilarity> similarities = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Map<String, LanguageMatrix>, TopicSimilarity> eldest) { return size() > MAX_TOPIC_SETS; }
+    };
+    private final LinkedHashMap<List<Object>, Map<Integer, List<String>>> topicGroups = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<List<Object>, Map<Integer, List<String>>> eldest) { return size() > MAX_ENTRIES; }
+    };
+
+    // Language code -> community id, ids ordered by community size like the offline pipeline
+    public Map<String, Integer> partition(LanguageMatrix m, double threshold, double resolution) {
+        List<Object> key = List.of(m, threshold, resolution);
+        synchronized (cache) {
+            Map<String, Integer> hit = cache.get(key);
+            if (hit != null) return hit;
+        }
+        int[] membership = new Leiden(resolution, SEED).partition(CsrGraph.fromMatrix(m, threshold));
+        int[] langs = m.getLanguages();
+        LanguageRegistry reg = m.getRegistry();
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < langs.length; i++) result.put(reg.code(langs[i]), membership[i]);
+        result = Collections.unmodifiableMap(result);
+        synchronized (cache) { cache.put(key, result); }
+        return result;
+    }
+
+    // Cosine matrix of the topics' language-pair vectors, computed once per topic set
+    public TopicSimilarity topicSimilarity(Map<String, LanguageMatrix> byTopic) {
+        synchronized (similarities) {
+            TopicSimilarity hit = similarities.get(byTopic);
+            if (hit != null) return hit;
+        }
+        TopicSimilarity sim = TopicSimilarity.compute(byTopic);
+        synchronized (similarities) { similarities.put(byTopic, sim); }
+        return sim;
+    }
+
+    // Community id -> topics, linking topics whose cosine exceeds the cutoff (calculate_topic_communities uses 0.995)
+    public Map<Integer, List<String>> topicClusters(Map<String, LanguageMatrix> byTopic, double cutoff) {
+        List<Object> key = List.of(byTopic, cutoff);
+        synchronized (topicGroups) {
+            Map<Integer, List<String>> hit = topicGroups.get(key);
+            if (hit != null) return hit;
+        }
+        TopicSimilarity sim = topicSimilarity(byTopic);
+        int[] membership = new Leiden(1.0, SEED).partition(sim.graphAbove(cutoff));
+        Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < membership.length; i++) groups.computeIfAbsent(membership[i], k -> new ArrayList<>()).add(sim.topic(i));
+        groups.replaceAll((id, topics) -> Collections.unmodifiableList(topics));
+        groups = Collections.unmodifiableMap(groups);
+        synchronized (topicGroups) { topicGroups.put(key, groups); }
+        return groups;
+    }
+
+    public void clear() {
+        synchronized (cache) { cache.clear(); }
+        synchronized (similarities) { similarities.clear(); }
+        synchronized (topicGroups) { topicGroups.clear(); }
+    }
+}
@@ -1,93 +1,415 @@
 package com.language_proximity.service;
 
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.model.SnapshotCodec;
+import com.language_proximity.model.TopicOutlierIndex;
 import com.language_proximity.model.TopicOutlierRecord;
-import com.language_proximity.model.WordOutlierRecord;
+import com.language_proximity.model.WordOutlierStore;
+import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.CsvReader;
+import com.language_proximity.utils.Latency;
 
-import javax.swing.*;
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class DataManager {
 
-    private Map<String, Map<String, Double>> topicProximityData = new HashMap<>();
-    private Map<String, Double> globalProximityData = new HashMap<>();
-    private Map<String, List<WordOutlierRecord>> wordOutlierData = new HashMap<>();
-    private List<TopicOutlierRecord> topicOutlierData = new ArrayList<>();
-    private Map<String, Map<String, Integer>> languageCommunityData = new HashMap<>();
-    private Map<String, Integer> topicMetaClusters = new HashMap<>();
-    private Map<Integer, List<String>> metaClusterMembers = new HashMap<>();
+    private static final int LOADER_THREADS = Math.min(6, Runtime.getRuntime().availableProcessors());
+    private static final String[] SOURCE_FILES = {"language_proximity_global", "language_proximity_by_topic", "outliers_words",
+            "outliers_topics", "language_communities", "topic_communities"};
+    private static final long RELOAD_QUIET_MS = Long.getLong("language_proximity.reload.ms", 500);
+    private static final String DATA_DIR = System.getProperty("language_proximity.data.dir", "data");
 
+    private final ExecutorService loaderPool = Executors.newFixedThreadPool(LOADER_THREADS, daemonThreads("data-loader"));
+    private final ExecutorService backgroundPool = Executors.newSingleThreadExecutor(daemonThreads("data-preload"));
+    private final ExecutorService switchPool = Executors.newSingleThreadExecutor(daemonThreads("mode-switch"));
+
+    private final SnapshotCache cache;
+    private final CommunityService communities = new CommunityService();
+    private final boolean preloadOtherMode;
+    private final boolean binarySnapshots = Boolean.parseBoolean(System.getProperty("language_proximity.binary", "true"));
+    private final Map<String, Future<DatasetSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final Object switchLock = new Object();
+    private LoadTask activeLoad;
+
+    private volatile DatasetSnapshot snapshot = DatasetSnapshot.EMPTY;
+    private final List<Consumer<DatasetSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private WatchService watcher;
+    private Runnable emptyDataWarning = () -> System.err.println("WARNING: No data loaded. Ensure the 'data' folder is in the working directory " +
+            "and filenames match pattern: *_lexical.csv / *_phonetic.csv");
+
+    public DataManager() {
+        this(Long.getLong("language_proximity.cache.mb", 256) << 20,
+                Boolean.parseBoolean(System.getProperty("language_proximity.preload", "true")));
+    }
+
+    public DataManager(long cacheBudgetBytes, boolean preloadOtherMode) {
+        this.cache = new SnapshotCache(cacheBudgetBytes);
+        this.preloadOtherMode = preloadOtherMode;
+    }
+
+    // Makes the given mode current, reusing a cached or in-flight snapshot when there is one
+    public void switchMode(String suffix) {
+        DatasetSnapshot cached = cache.get(suffix);
+        if (cached == null) cached = awaitLoad(suffix, LoadTask.detached(suffix));
+        publish(cached);
+        preloadOthers(suffix);
+    }
+
+    // Non-blocking variant for the UI: cancels any load still running for a previous switch and returns a task
+    // whose listener sees partial snapshots as files arrive. Only the most recent task ever publishes its result.
+    public LoadTask switchModeAsync(String suffix, LoadTask.Listener listener) {
+        LoadTask task = new LoadTask(suffix, listener);
+        synchronized (switchLock) {
+            if (activeLoad != null) activeLoad.cancel();
+            activeLoad = task;
+        }
+        DatasetSnapshot cached = cache.get(suffix);
+        if (cached != null) {
+            finish(task, cached);
+            return task;
+        }
+        switchPool.submit(() -> {
+            try {
+                finish(task, awaitLoad(suffix, task));
+            } catch (Throwable t) {
+                task.fail(t);
+            }
+        });
+        return task;
+    }
+
+    // Forces a re-read from disk, replacing any cached snapshot for this mode
     public void reloadAllData(String currentSuffix) {
-        topicProximityData.clear(); globalProximityData.clear(); wordOutlierData.clear();
-        topicOutlierData.clear(); languageCommunityData.clear(); topicMetaClusters.clear(); metaClusterMembers.clear();
+        cache.invalidate(currentSuffix);
+        publish(awaitLoad(currentSuffix, LoadTask.detached(currentSuffix)));
+    }
 
-        System.out.println("Reloading data from: " + currentSuffix);
+    public void preload(String suffix) {
+        if (cache.get(suffix) != null) return;
+        CompletableFuture<DatasetSnapshot> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(suffix, future) != null) return;
+        backgroundPool.submit(() -> {
+            try {
+                future.complete(loadAndCache(suffix, LoadTask.detached(suffix)));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                inFlight.remove(suffix, future);   // only this preload's own entry
+            }
+        });
+    }
 
-        loadProximityData(currentSuffix);
-        loadOutlierData(currentSuffix);
-        loadLanguageCommunities(currentSuffix);
-        loadTopicMetaClusters(currentSuffix);
-
-        if (globalProximityData.isEmpty()) {
-            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
-                    "CRITICAL WARNING: No data loaded.\n\n" +
-                            "Ensure 'data' folder is in the project root directory\n" +
-                            "and filenames match pattern: *_lexical.csv / *_phonetic.csv",
-                    "Data Load Error", JOptionPane.ERROR_MESSAGE));
+    private void preloadOthers(String suffix) {
+        if (!preloadOtherMode) return;
+        for (String other : Constants.MODE_SUFFIXES) if (!other.equals(suffix)) preload(other);
+    }
+
+    // Watches data/ for CSVs rewritten by the pipeline. Once writes have been quiet for RELOAD_QUIET_MS, only the
+    // changed files of each cached mode are re-parsed into a copy of its snapshot, which replaces the cached one; for
+    // the current mode it is also published and handed to the listener. Modes not yet loaded read the new files anyway.
+    public synchronized void watchDataDirectory(Consumer<DatasetSnapshot> onReload) {
+        reloadListeners.add(onReload);
+        if (watcher != null) return;
+        Path dir = Paths.get(DATA_DIR);
+        try {
+            watcher = dir.getFileSystem().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + dir.toAbsolutePath() + ": " + e.getMessage());
+            return;
         }
+        daemonThreads("data-watch").newThread(this::watchLoop).start();
     }
 
-    private void loadProximityData(String suffix) {
-        readCSV("data/language_proximity_global" + suffix + ".csv", d -> { if(d.length>=3) globalProximityData.put(d[0]+"_"+d[1], Double.parseDouble(d[2])); });
-        readCSV("data/language_proximity_by_topic" + suffix + ".csv", d -> { if(d.length>=4) topicProximityData.computeIfAbsent(d[0], k->new HashMap<>()).put(d[1]+"_"+d[2], Double.parseDouble(d[3])); });
+    private void watchLoop() {
+        Set<String> changed = new HashSet<>();
+        try {
+            while (true) {
+                WatchKey key = changed.isEmpty() ? watcher.take() : watcher.poll(RELOAD_QUIET_MS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    Set<String> batch = changed;
+                    changed = new HashSet<>();
+                    switchPool.submit(() -> applyChanges(batch));   // serialised with mode switches
+                    continue;
+                }
+                for (WatchEvent<?> e : key.pollEvents()) {
+                    if (e.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        for (String suffix : Constants.MODE_SUFFIXES) for (String f : SOURCE_FILES) changed.add(f + suffix + ".csv");
+                    } else {
+                        String name = e.context().toString();
+                        if (!name.startsWith(".") && name.endsWith(".csv")) changed.add(name);
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
     }
 
-    private void loadOutlierData(String suffix) {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream("data/outliers_words" + suffix + ".csv"), StandardCharsets.UTF_8))) {
-            br.readLine(); String l;
-            while((l=br.readLine())!=null) {
-                String[] d = l.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
-                for(int i=0;i<d.length;i++) d[i]=d[i].replace("\"", "").trim();
-                if(d.length>=11) wordOutlierData.computeIfAbsent(d[0], k->new ArrayList<>()).add(new WordOutlierRecord(d));
+    private void applyChanges(Set<String> names) {
+        for (String suffix : Constants.MODE_SUFFIXES) {
+            List<String> files = new ArrayList<>();
+            for (String f : SOURCE_FILES) if (names.contains(f + suffix + ".csv")) files.add(f);
+            DatasetSnapshot base = cache.get(suffix);
+            if (files.isEmpty() || base == null) continue;
+
+            System.out.println("Data changed, re-reading " + files + " for " + suffix);
+            long[] key = sourceKey(suffix);   // taken first, so a write racing the parse leaves the binary stale, not wrong
+            DatasetSnapshot s = Latency.timed("load.changedFiles", () -> reloadFiles(base, files));
+            cache.put(suffix, s);
+            if (binarySnapshots) backgroundPool.submit(() -> writeBinary(Paths.get(DATA_DIR, ".snapshot" + suffix + ".bin"), key, s));
+            synchronized (switchLock) {
+                if (activeLoad != null || !suffix.equals(snapshot.getSuffix())) continue;
+                publish(s);
             }
-        } catch(Exception e) { System.err.println("Could not load words ("+suffix+"): " + e.getMessage()); }
-
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream("data/outliers_topics" + suffix + ".csv"), StandardCharsets.UTF_8))) {
-            br.readLine(); String l;
-            while((l=br.readLine())!=null) {
-                String[] d = l.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
-                for(int i=0;i<d.length;i++) d[i]=d[i].replace("\"", "").trim();
-                if(d.length>=10) topicOutlierData.add(new TopicOutlierRecord(d));
+            for (Consumer<DatasetSnapshot> l : reloadListeners) l.accept(s);
+        }
+    }
+
+    private DatasetSnapshot reloadFiles(DatasetSnapshot base, List<String> files) {
+        LoadTask task = LoadTask.detached(base.getSuffix());
+        LanguageRegistry registry = base.getLanguages().copy();
+        SnapshotAssembler assembler = new SnapshotAssembler(base, registry);
+        Map<String, Runnable> loaders = loaders(base.getSuffix(), registry, assembler, task);
+        List<Future<?>> pending = new ArrayList<>();
+        for (String f : files) pending.add(loaderPool.submit(loaders.get(f)));
+        for (Future<?> f : pending) join(f, null);
+        return assembler.snapshot();
+    }
+
+    private void finish(LoadTask task, DatasetSnapshot s) {
+        synchronized (switchLock) {
+            if (task.isCancelled() || activeLoad != task) {
+                task.fail(new CancellationException("Load of " + task.getSuffix() + " superseded"));
+                return;
             }
-        } catch(Exception e) { System.err.println("Could not load topics ("+suffix+"): " + e.getMessage()); }
+            publish(s);
+            activeLoad = null;
+        }
+        task.complete(s);
+        preloadOthers(task.getSuffix());
     }
 
-    private void loadLanguageCommunities(String suffix) {
-        readCSV("data/language_communities" + suffix + ".csv", d -> { if(d.length>=3) languageCommunityData.computeIfAbsent(d[0], k->new HashMap<>()).put(d[1], Integer.parseInt(d[2])); });
+    private DatasetSnapshot awaitLoad(String suffix, LoadTask task) {
+        Future<DatasetSnapshot> pending = inFlight.get(suffix);
+        if (pending != null) {
+            DatasetSnapshot s = join(pending, null);
+            task.checkCancelled();
+            if (s != null) return s;
+        }
+        return loadAndCache(suffix, task);
     }
 
-    private void loadTopicMetaClusters(String suffix) {
-        readCSV("data/topic_communities" + suffix + ".csv", d -> { if(d.length>=2) { int id=Integer.parseInt(d[1]); topicMetaClusters.put(d[0], id); metaClusterMembers.computeIfAbsent(id, k->new ArrayList<>()).add(d[0]); } });
+    private DatasetSnapshot loadAndCache(String suffix, LoadTask task) {
+        DatasetSnapshot s = Latency.timed("load.snapshot", () -> loadSnapshot(suffix, task));
+        task.checkCancelled();
+        if (!s.isEmpty()) cache.put(suffix, s);
+        return s;
+    }
+
+    private void publish(DatasetSnapshot s) {
+        snapshot = s;
+        if (s.isEmpty()) emptyDataWarning.run();
+    }
+
+    // Replaces the console warning shown when a published snapshot has no data; the UI installs a dialog here
+    public void setEmptyDataWarning(Runnable warning) { this.emptyDataWarning = warning; }
+
+    // Stops watching and lets a pending binary snapshot write finish, so short-lived callers leave a usable cache
+    public void shutdown() {
+        synchronized (this) {
+            try { if (watcher != null) watcher.close(); } catch (IOException ignored) { }
+        }
+        switchPool.shutdownNow(); loaderPool.shutdown(); backgroundPool.shutdown();
+        try {
+            backgroundPool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private void readCSV(String p, java.util.function.Consumer<String[]> proc) {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(p), StandardCharsets.UTF_8))) {
-            br.readLine(); String l; while((l=br.readLine())!=null) {
-                String[] d = l.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
-                for(int i=0; i<d.length; i++) d[i] = d[i].replace("\"", "").trim();
-                proc.accept(d);
+    // Reads the binary snapshot written after the last CSV load when it is still current for the source files,
+    // otherwise parses the CSVs and refreshes the binary file in the background
+    private DatasetSnapshot loadSnapshot(String currentSuffix, LoadTask task) {
+        if (!binarySnapshots) return loadFromCsv(currentSuffix, task);
+        long[] key = sourceKey(currentSuffix);
+        Path bin = Paths.get(DATA_DIR, ".snapshot" + currentSuffix + ".bin");
+        DatasetSnapshot cached = Latency.timed("load.binary", () -> readBinary(bin, key));
+        if (cached != null) {
+            task.progress(cached, bin.getFileName().toString(), 1, 1);
+            return cached;
+        }
+        DatasetSnapshot s = loadFromCsv(currentSuffix, task);
+        if (!s.isEmpty()) backgroundPool.submit(() -> writeBinary(bin, key, s));
+        return s;
+    }
+
+    private static DatasetSnapshot readBinary(Path bin, long[] key) {
+        if (!Files.isRegularFile(bin)) return null;
+        // Read onto the heap rather than mapped: a mapping would hold the file until GC, and on Windows writeBinary
+        // could then not replace it
+        try (FileChannel ch = FileChannel.open(bin, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(ch.size()));
+            while (buf.hasRemaining() && ch.read(buf) >= 0) { }
+            buf.flip();
+            DatasetSnapshot s = SnapshotCodec.read(buf, key);
+            if (s != null) System.out.println("Read snapshot: " + bin);
+            return s;
+        } catch (Exception e) {
+            System.err.println("Ignoring snapshot " + bin + ": " + e);
+            return null;
+        }
+    }
+
+    private static void writeBinary(Path bin, long[] key, DatasetSnapshot s) {
+        Latency.time("load.writeBinary", () -> {
+            try {
+                Path tmp = Files.createTempFile(bin.getParent(), ".snapshot", ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                    SnapshotCodec.write(s, key, out);
+                } catch (IOException e) {
+                    Files.deleteIfExists(tmp);
+                    throw e;
+                }
+                Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("Could not write snapshot " + bin + ": " + e.getMessage());
             }
+        });
+    }
+
+    // Size and modification time of every source CSV; a snapshot is only reused when all of them match
+    private static long[] sourceKey(String suffix) {
+        long[] key = new long[SOURCE_FILES.length * 2];
+        for (int i = 0; i < SOURCE_FILES.length; i++) {
+            File f = new File(DATA_DIR + "/" + SOURCE_FILES[i] + suffix + ".csv");
+            key[2 * i] = f.isFile() ? f.length() : -1;
+            key[2 * i + 1] = f.isFile() ? f.lastModified() : -1;
+        }
+        return key;
+    }
+
+    private DatasetSnapshot loadFromCsv(String currentSuffix, LoadTask task) {
+        System.out.println("Reloading data from: " + currentSuffix);
+
+        // Every file is parsed into its own structure on the loader pool and handed to the assembler as soon as it is done
+        LanguageRegistry registry = new LanguageRegistry();
+        SnapshotAssembler assembler = new SnapshotAssembler(currentSuffix, registry);
+        AtomicInteger done = new AtomicInteger();
+        List<Future<?>> loaders = new ArrayList<>();
+        loaders(currentSuffix, registry, assembler, task).forEach((file, loader) -> loaders.add(submit(task, assembler, done, file, loader)));
+        for (Future<?> f : loaders) join(f, null);
+        task.checkCancelled();
+        return assembler.snapshot();
+    }
+
+    // One loader per source file, in SOURCE_FILES order
+    private static Map<String, Runnable> loaders(String suffix, LanguageRegistry registry, SnapshotAssembler assembler, LoadTask task) {
+        Map<String, Runnable> m = new LinkedHashMap<>();
+        m.put("language_proximity_global", () -> assembler.setGlobal(loadGlobalProximity(suffix, registry, task)));
+        m.put("language_proximity_by_topic", () -> assembler.setTopics(loadTopicProximity(suffix, registry, task)));
+        m.put("outliers_words", () -> assembler.setWords(loadWordOutliers(suffix, registry, task)));
+        m.put("outliers_topics", () -> assembler.setTopicOutliers(loadTopicOutliers(suffix, task)));
+        m.put("language_communities", () -> assembler.setCommunities(loadLanguageCommunities(suffix, task)));
+        m.put("topic_communities", () -> assembler.setMetaClusters(loadTopicMetaClusters(suffix, task)));
+        m.replaceAll((file, loader) -> () -> Latency.time("load." + file, loader));
+        return m;
+    }
+
+    private Future<?> submit(LoadTask task, SnapshotAssembler assembler, AtomicInteger done, String file, Runnable loader) {
+        return loaderPool.submit(() -> {
+            if (task.isCancelled()) return;
+            loader.run();
+            if (!task.isCancelled()) task.progress(assembler.snapshot(), file + task.getSuffix() + ".csv", done.incrementAndGet(), SOURCE_FILES.length);
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static <T> T join(Future<T> f, T fallback) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof CancellationException)) System.err.println("Loader failed: " + e.getCause());
+            return fallback;
+        }
+    }
+
+    private static LanguageMatrix.Builder loadGlobalProximity(String suffix, LanguageRegistry registry, LoadTask task) {
+        LanguageMatrix.Builder b = new LanguageMatrix.Builder();
+        readCSV(DATA_DIR + "/language_proximity_global" + suffix + ".csv", task, r -> { if(r.size()>=3) b.add(registry.intern(r.getPooled(0)), registry.intern(r.getPooled(1)), r.getDouble(2)); });
+        return b;
+    }
+
+    private static Map<String, LanguageMatrix.Builder> loadTopicProximity(String suffix, LanguageRegistry registry, LoadTask task) {
+        Map<String, LanguageMatrix.Builder> m = new HashMap<>();
+        readCSV(DATA_DIR + "/language_proximity_by_topic" + suffix + ".csv", task, r -> { if(r.size()>=4) m.computeIfAbsent(r.getPooled(0), k->new LanguageMatrix.Builder()).add(registry.intern(r.getPooled(1)), registry.intern(r.getPooled(2)), r.getDouble(3)); });
+        return m;
+    }
+
+    private static WordOutlierStore.Builder loadWordOutliers(String suffix, LanguageRegistry registry, LoadTask task) {
+        WordOutlierStore.Builder b = new WordOutlierStore.Builder();
+        readCSV(DATA_DIR + "/outliers_words" + suffix + ".csv", task, r -> { if(r.size()>=11) b.add(r, registry); });
+        return b;
+    }
+
+    private static List<TopicOutlierRecord> loadTopicOutliers(String suffix, LoadTask task) {
+        List<TopicOutlierRecord> l = new ArrayList<>();
+        readCSV(DATA_DIR + "/outliers_topics" + suffix + ".csv", task, r -> { if(r.size()>=10) l.add(new TopicOutlierRecord(r)); });
+        return l;
+    }
+
+    private static Map<String, Map<String, Integer>> loadLanguageCommunities(String suffix, LoadTask task) {
+        Map<String, Map<String, Integer>> m = new HashMap<>();
+        readCSV(DATA_DIR + "/language_communities" + suffix + ".csv", task, r -> { if(r.size()>=3) m.computeIfAbsent(r.getPooled(0), k->new HashMap<>()).put(r.getPooled(1), r.getInt(2)); });
+        return m;
+    }
+
+    private static Map<String, Integer> loadTopicMetaClusters(String suffix, LoadTask task) {
+        Map<String, Integer> m = new HashMap<>();
+        readCSV(DATA_DIR + "/topic_communities" + suffix + ".csv", task, r -> { if(r.size()>=2) m.put(r.getPooled(0), r.getInt(1)); });
+        return m;
+    }
+
+    private static void readCSV(String p, LoadTask task, Consumer<CsvReader> proc) {
+        try (CsvReader r = CsvReader.open(p)) {
+            r.next(); while(r.next()) { task.checkCancelled(); proc.accept(r); }
+        } catch(CancellationException e) { throw e;
         } catch(Exception e) { System.err.println("Error reading " + p + ": " + e.getMessage()); }
     }
 
     // Getters
-    public Map<String, Map<String, Double>> getTopicProximityData() { return topicProximityData; }
-    public Map<String, Double> getGlobalProximityData() { return globalProximityData; }
-    public Map<String, List<WordOutlierRecord>> getWordOutlierData() { return wordOutlierData; }
-    public List<TopicOutlierRecord> getTopicOutlierData() { return topicOutlierData; }
-    public Map<String, Map<String, Integer>> getLanguageCommunityData() { return languageCommunityData; }
-    public Map<Integer, List<String>> getMetaClusterMembers() { return metaClusterMembers; }
-}
\ No newline at end of file
+    public DatasetSnapshot getSnapshot() { return snapshot; }
+    public SnapshotCache getCache() { return cache; }
+    public CommunityService getCommunities() { return communities; }
+    public Map<String, LanguageMatrix> getTopicMatrices() { return snapshot.getTopicMatrices(); }
+    public LanguageMatrix getGlobalMatrix() { return snapshot.getGlobalMatrix(); }
+    public WordOutlierStore getWordOutliers() { return snapshot.getWordOutliers(); }
+    public List<TopicOutlierRecord> getTopicOutlierData() { return snapshot.getTopicOutlierData(); }
+    public TopicOutlierIndex getTopicOutliers() { return snapshot.getTopicOutliers(); }
+    public Map<String, Map<String, Integer>> getLanguageCommunityData() { return snapshot.getLanguageCommunityData(); }
+    public Map<Integer, List<String>> getMetaClusterMembers() { return snapshot.getMetaClusterMembers(); }
+}
@@ -0,0 +1,224 @@
+package com.language_proximity.service;
+
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.TopicOutlierIndex;
+import com.language_proximity.utils.Latency;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Read-only HTTP API over the snapshot the supplier currently publishes. Answers are serialised once per snapshot
+// and query and then served as cached bytes; a hot reload or mode switch publishes a new snapshot, which starts a
+// fresh cache. Endpoints (GET, format=json by default or format=csv):
+//   /similarity?lang1=&lang2=[&scope=]     /closest?lang=[&scope=][&n=]     /matrix[?scope=]
+//   /outliers?lang1=&lang2=[&scope=][&n=]  /outliers?topic=[&n=]            /communities[?scope=]     /health
+// /diagnostics returns the process's latency percentiles as plain text and is never cached.
+public final class HttpApi {
+    private static final String GLOBAL = TopicOutlierIndex.GLOBAL;
+    private static final int MAX_CACHED = 50_000;   // responses per snapshot; further distinct queries are served uncached
+
+    private final Supplier<DatasetSnapshot> snapshots;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile Served served;
+
+    // One snapshot with its query service and the serialised responses built from it
+    private static final class Served {
+        final DatasetSnapshot snapshot;
+        final QueryService queries;
+        final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+        Served(DatasetSnapshot snapshot) { this.snapshot = snapshot; this.queries = new QueryService(snapshot); }
+    }
+
+    public HttpApi(Supplier<DatasetSnapshot> snapshots, int port) throws IOException {
+        this.snapshots = snapshots;
+        this.executor = requestExecutor();
+        // The JDK server writes headers and body separately; without TCP_NODELAY every keep-alive response after the
+        // first waits out the client's delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(port), 512);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    // A virtual thread per request where the runtime has them (Java 21+); on Java 17 a fixed pool of daemon threads,
+    // which is enough because every request is an in-memory lookup that never blocks
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "http-api");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("HTTP API listening on port " + getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+
+    private Served served() {
+        DatasetSnapshot s = snapshots.get();
+        Served cur = served;
+        if (cur == null || cur.snapshot != s) served = cur = new Served(s);
+        return cur;
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        long start = System.nanoTime();
+        String stage = null;
+        try {
+            if (!"GET".equals(ex.getRequestMethod())) {
+                send(ex, 405, error("only GET is supported"), true);
+                return;
+            }
+            if (ex.getRequestURI().getPath().equals("/diagnostics")) {
+                byte[] report = Latency.report().getBytes(StandardCharsets.UTF_8);
+                ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                ex.sendResponseHeaders(200, report.length);
+                try (OutputStream out = ex.getResponseBody()) { out.write(report); }
+                return;
+            }
+            Map<String, String> p = params(ex.getRequestURI().getRawQuery());
+            boolean json = !"csv".equalsIgnoreCase(p.getOrDefault("format", "json"));
+            Served s = served();
+            if (s.snapshot.isEmpty()) {
+                send(ex, 503, error("no data loaded"), json);
+                return;
+            }
+            List<String> query = query(ex.getRequestURI().getPath(), p);
+            if (query == null) {
+                send(ex, 404, error("unknown endpoint " + ex.getRequestURI().getPath()), json);
+                return;
+            }
+            stage = "http." + query.get(0);
+            String key = (json ? "j " : "c ") + String.join("\u001F", query);
+            byte[] body = s.responses.get(key);
+            if (body == null) {
+                body = serialise(s, query, json);
+                if (s.responses.size() < MAX_CACHED) s.responses.putIfAbsent(key, body);
+            }
+            send(ex, 200, body, json);
+        } catch (IllegalArgumentException e) {
+            send(ex, 400, error(e.getMessage()), true);
+        } finally {
+            ex.close();
+            if (stage != null) Latency.record(stage, System.nanoTime() - start);
+        }
+    }
+
+    // Maps an endpoint and its parameters onto a query of the CLI grammar, which also serves as the cache key
+    private static List<String> query(String path, Map<String, String> p) {
+        String scope = p.getOrDefault("scope", GLOBAL);
+        switch (path) {
+            case "/health":
+                return List.of("health");
+            case "/similarity":
+                return List.of("similarity", required(p, "lang1"), required(p, "lang2"), scope);
+            case "/closest":
+                return List.of("closest", required(p, "lang"), scope, count(p, 5));
+            case "/matrix":
+                return List.of("matrix", scope);
+            case "/outliers":
+                if (p.containsKey("topic")) return List.of("topic-outliers", p.get("topic"), count(p, 10));
+                return List.of("pair-outliers", required(p, "lang1"), required(p, "lang2"), scope, count(p, 10));
+            case "/communities":
+                return List.of("community", scope);
+            default:
+                return null;
+        }
+    }
+
+    private static byte[] serialise(Served s, List<String> query, boolean json) throws IOException {
+        QueryService q = s.queries;
+        QueryService.Result r;
+        switch (query.get(0)) {
+            case "similarity": r = q.similarity(query.get(1), query.get(2), query.get(3)); break;
+            case "closest": r = q.closest(query.get(1), query.get(2), Integer.parseInt(query.get(3))); break;
+            case "matrix": r = q.matrix(query.get(1)); break;
+            case "topic-outliers": r = q.topicOutliers(query.get(1), Integer.parseInt(query.get(2))); break;
+            case "pair-outliers": r = q.pairOutliers(query.get(1), query.get(2), query.get(3), Integer.parseInt(query.get(4))); break;
+            case "community": r = q.community(query.get(1)); break;
+            default:
+                r = new QueryService.Result("mode", "languages", "topics");
+                r.row(s.snapshot.getSuffix().substring(1), s.snapshot.getGlobalMatrix().size(), s.snapshot.getTopicMatrices().size());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+        String label = String.join(" ", query);
+        if (json) r.writeJson(label, out);
+        else r.writeCsv(label, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] error(String message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            QueryService.error(message).writeJson("error", out);
+        } catch (IOException ignored) { }
+        return bytes.toByteArray();
+    }
+
+    private static void send(HttpExchange ex, int status, byte[] body, boolean json) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", json ? "application/json; charset=utf-8" : "text/csv; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> params(String raw) {
+        Map<String, String> p = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return p;
+        for (String kv : raw.split("&")) {
+            int eq = kv.indexOf('=');
+            String k = URLDecoder.decode(eq < 0 ? kv : kv.substring(0, eq), StandardCharsets.UTF_8);
+            p.put(k, eq < 0 ? "" : URLDecoder.decode(kv.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return p;
+    }
+
+    private static String required(Map<String, String> p, String name) {
+        String v = p.get(name);
+        if (v == null || v.isEmpty()) throw new IllegalArgumentException("missing parameter '" + name + "'");
+        return v;
+    }
+
+    private static String count(Map<String, String> p, int fallback) {
+        String n = p.getOrDefault("n", String.valueOf(fallback));
+        if (!n.matches("\\d{1,6}")) throw new IllegalArgumentException("n must be a non-negative integer");
+        return n;
+    }
+}
@@ -0,0 +1,46 @@
+package com.language_proximity.service;
+
+import com.language_proximity.model.DatasetSnapshot;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+// Handle for one asynchronous mode load. Cancelling it stops the CSV readers at their next record
+// and guarantees its result is never published over a newer load.
+public final class LoadTask {
+
+    // Called on loader threads as each dataset file finishes; partial holds everything loaded so far
+    public interface Listener {
+        void progress(LoadTask task, DatasetSnapshot partial, String file, int done, int total);
+    }
+
+    private final String suffix;
+    private final Listener listener;
+    private final CompletableFuture<DatasetSnapshot> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+
+    LoadTask(String suffix, Listener listener) { this.suffix = suffix; this.listener = listener; }
+
+    // For synchronous loads and preloads: no listener and nothing ever cancels it
+    static LoadTask detached(String suffix) { return new LoadTask(suffix, null); }
+
+    public void cancel() {
+        cancelled = true;
+        result.completeExceptionally(new CancellationException("Load of " + suffix + " superseded"));
+    }
+
+    public boolean isCancelled() { return cancelled; }
+    public String getSuffix() { return suffix; }
+    public CompletableFuture<DatasetSnapshot> getResult() { return result; }
+
+    void checkCancelled() {
+        if (cancelled) throw new CancellationException("Load of " + suffix + " cancelled");
+    }
+
+    void progress(DatasetSnapshot partial, String file, int done, int total) {
+        if (listener != null && !cancelled) listener.progress(this, partial, file, done, total);
+    }
+
+    void complete(DatasetSnapshot s) { result.complete(s); }
+    void fail(Throwable t) { result.completeExceptionally(t); }
+}
@@ -0,0 +1,210 @@
+package com.language_proximity.service;
+
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.model.TopicOutlierIndex;
+import com.language_proximity.model.WordOutlierStore;
+import com.language_proximity.model.WordOutlierView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+// Read-only queries over one immutable snapshot, shared by the headless CLI and the HTTP API. Results are small
+// tables that serialise to CSV or JSON; bad arguments raise IllegalArgumentException with a message for the caller.
+public final class QueryService {
+    private static final String GLOBAL = TopicOutlierIndex.GLOBAL;
+
+    private final DatasetSnapshot data;
+
+    public QueryService(DatasetSnapshot data) { this.data = data; }
+
+    public DatasetSnapshot getSnapshot() { return data; }
+
+    // Query in the CLI grammar: a command followed by its arguments
+    public Result run(List<String> q) {
+        // A trailing number is always the count, so "closest en 3" skips the optional scope; one that is not a
+        // non-negative integer ("-3", "2.5") is an error rather than a scope name
+        int n = -1;
+        String last = q.get(q.size() - 1);
+        if (q.size() > 2 && last.matches("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?")) {
+            if (!last.matches("\\d{1,6}")) throw new IllegalArgumentException("count must be a non-negative integer, got '" + last + "'");
+            n = Integer.parseInt(last);
+            q = q.subList(0, q.size() - 1);
+        }
+        switch (q.get(0)) {
+            case "closest": return closest(arg(q, 1, null), arg(q, 2, GLOBAL), n < 0 ? 5 : n);
+            case "pair-outliers": return pairOutliers(arg(q, 1, null), arg(q, 2, null), arg(q, 3, GLOBAL), n < 0 ? 10 : n);
+            case "topic-outliers": return topicOutliers(arg(q, 1, null), n < 0 ? 10 : n);
+            case "similarity": return similarity(arg(q, 1, null), arg(q, 2, null), arg(q, 3, GLOBAL));
+            case "matrix": return matrix(arg(q, 1, GLOBAL));
+            case "community": return community(arg(q, 1, GLOBAL));
+            default: throw new IllegalArgumentException("unknown query '" + q.get(0) + "'; expected closest, similarity, matrix, pair-outliers, topic-outliers or community");
+        }
+    }
+
+    public Result closest(String lang, String scope, int n) {
+        LanguageMatrix m = scopeMatrix(scope);
+        LanguageRegistry reg = m.getRegistry();
+        int li = reg.indexOf(lang);
+        if (li < 0 || li >= m.size()) throw new IllegalArgumentException("unknown language '" + lang + "'");
+        List<Integer> others = new ArrayList<>();
+        for (int j : m.getLanguages()) if (j != li && m.contains(li, j)) others.add(j);
+        others.sort((a, b) -> Double.compare(m.get(li, b), m.get(li, a)));
+        Result r = new Result("language", "similarity");
+        for (int j : others.subList(0, Math.min(n, others.size()))) r.row(reg.code(j), m.get(li, j));
+        return r;
+    }
+
+    public Result similarity(String lang1, String lang2, String scope) {
+        LanguageMatrix m = scopeMatrix(scope);
+        double v = m.get(lang1, lang2);
+        if (Double.isNaN(v)) throw new IllegalArgumentException("no similarity for '" + lang1 + "' / '" + lang2 + "' in '" + scope + "'");
+        Result r = new Result("scope", "lang1", "lang2", "similarity");
+        r.row(scope, lang1, lang2, v);
+        return r;
+    }
+
+    // Every pair of the scope, in matrix order
+    public Result matrix(String scope) {
+        LanguageMatrix m = scopeMatrix(scope);
+        LanguageRegistry reg = m.getRegistry();
+        Result r = new Result("lang1", "lang2", "similarity");
+        m.forEachPair((i, j, v) -> r.row(reg.code(i), reg.code(j), v));
+        return r;
+    }
+
+    public Result pairOutliers(String lang1, String lang2, String scope, int n) {
+        WordOutlierStore s = data.getWordOutliers();
+        int l1 = s.getLanguages().indexOf(lang1), l2 = s.getLanguages().indexOf(lang2);
+        if (l1 < 0 || l2 < 0) throw new IllegalArgumentException("unknown language pair '" + lang1 + "' / '" + lang2 + "'");
+        WordOutlierView pair = s.forPair(l1, l2);
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < pair.size(); i++) if (GLOBAL.equals(scope) || s.getTopic(pair.row(i)).equals(scope)) rows.add(pair.row(i));
+        return wordRows(s, rows, n);
+    }
+
+    public Result topicOutliers(String topic, int n) {
+        WordOutlierView v = data.getWordOutliers().forTopic(topic);
+        if (v.isEmpty() && !data.getTopicMatrices().containsKey(topic)) throw new IllegalArgumentException("unknown topic '" + topic + "'");
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < v.size(); i++) rows.add(v.row(i));
+        return wordRows(data.getWordOutliers(), rows, n);
+    }
+
+    private static Result wordRows(WordOutlierStore s, List<Integer> rows, int n) {
+        rows.sort((a, b) -> Float.compare(Math.abs(s.getZScore(b)), Math.abs(s.getZScore(a))));
+        Result r = new Result("topic", "source_word", "lang1", "lang2", "word1", "word2", "similarity", "z_score", "type");
+        for (int k = 0; k < Math.min(n, rows.size()); k++) {
+            int row = rows.get(k);
+            r.row(s.getTopic(row), s.getSourceWord(row), s.getLang1Code(row), s.getLang2Code(row), s.getWord1(row), s.getWord2(row),
+                    s.getSimilarity(row), s.getZScore(row), s.getType(row));
+        }
+        return r;
+    }
+
+    public Result community(String scope) {
+        Map<String, Integer> comms = data.getLanguageCommunityData().get(scope);
+        if (comms == null) throw new IllegalArgumentException("no communities for scope '" + scope + "'");
+        Result r = new Result("language", "community");
+        new TreeMap<>(comms).forEach((lang, id) -> r.row(lang, id));
+        return r;
+    }
+
+    private LanguageMatrix scopeMatrix(String scope) {
+        LanguageMatrix m = GLOBAL.equals(scope) ? data.getGlobalMatrix() : data.getTopicMatrices().get(scope);
+        if (m == null) throw new IllegalArgumentException("unknown scope '" + scope + "'");
+        return m;
+    }
+
+    private static String arg(List<String> q, int i, String fallback) {
+        if (i < q.size()) return q.get(i);
+        if (fallback == null) throw new IllegalArgumentException("missing argument " + i + " for '" + q.get(0) + "'");
+        return fallback;
+    }
+
+    // Whitespace-separated tokens; double quotes group a token containing spaces
+    public static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false, any = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') { quoted = !quoted; any = true; }
+            else if (Character.isWhitespace(c) && !quoted) {
+                if (any) tokens.add(cur.toString());
+                cur.setLength(0); any = false;
+            } else { cur.append(c); any = true; }
+        }
+        if (any) tokens.add(cur.toString());
+        return tokens;
+    }
+
+    public static Result error(String message) {
+        Result r = new Result("error");
+        r.row(message);
+        return r;
+    }
+
+    public static final class Result {
+        private final String[] columns;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        Result(String... columns) { this.columns = columns; }
+
+        void row(Object... values) { rows.add(values); }
+
+        public int size() { return rows.size(); }
+
+        // One block per query: a comment line naming it, the header, then the rows
+        public void writeCsv(String query, Writer out) throws IOException {
+            out.write("# " + query + "\n");
+            out.write(String.join(",", columns) + "\n");
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) out.write(',');
+                    out.write(csv(row[i]));
+                }
+                out.write('\n');
+            }
+        }
+
+        // JSON Lines: one object per query
+        public void writeJson(String query, Writer out) throws IOException {
+            out.write("{\"query\":" + json(query) + ",\"rows\":[");
+            for (int r = 0; r < rows.size(); r++) {
+                if (r > 0) out.write(',');
+                out.write('{');
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) out.write(',');
+                    out.write(json(columns[i]) + ":" + json(rows.get(r)[i]));
+                }
+                out.write('}');
+            }
+            out.write("]}\n");
+        }
+
+        private static String csv(Object v) {
+            String s = String.valueOf(v);
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+
+        private static String json(Object v) {
+            if (v instanceof Number) {
+                double d = ((Number) v).doubleValue();
+                return Double.isFinite(d) ? v.toString() : "null";
+            }
+            String s = String.valueOf(v);
+            StringBuilder b = new StringBuilder("\"");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') b.append('\\').append(c);
+                else if (c < 0x20) b.append(String.format("\\u%04x", (int) c));
+                else b.append(c);
+            }
+            return b.append('"').toString();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.language_proximity.service;
+
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.model.TopicOutlierRecord;
+import com.language_proximity.model.WordOutlierStore;
+
+import java.util.*;
+
+// Collects the per-file results of one load as they complete. Each call to snapshot() returns an immutable
+// snapshot of what has arrived so far, with empty placeholders (or the base snapshot's data) for files still loading.
+final class SnapshotAssembler {
+    private final String suffix;
+    private final LanguageRegistry registry;
+
+    private LanguageMatrix globalMatrix;
+    private Map<String, LanguageMatrix> topicMatrices = new HashMap<>();
+    private WordOutlierStore wordOutliers;
+    private List<TopicOutlierRecord> topicOutliers = new ArrayList<>();
+    private Map<String, Map<String, Integer>> communities = new HashMap<>();
+    private Map<String, Integer> metaClusters = new HashMap<>();
+
+    SnapshotAssembler(String suffix, LanguageRegistry registry) {
+        this.suffix = suffix; this.registry = registry;
+        this.globalMatrix = LanguageMatrix.empty(registry);
+        this.wordOutliers = WordOutlierStore.empty(registry);
+    }
+
+    // Starts from a loaded snapshot so that only the files being re-read need to be set; the registry must extend the base's
+    SnapshotAssembler(DatasetSnapshot base, LanguageRegistry registry) {
+        this.suffix = base.getSuffix(); this.registry = registry;
+        this.globalMatrix = base.getGlobalMatrix();
+        this.topicMatrices = base.getTopicMatrices();
+        this.wordOutliers = base.getWordOutliers();
+        this.topicOutliers = base.getTopicOutlierData();
+        this.communities = base.getLanguageCommunityData();
+        this.metaClusters = base.getTopicMetaClusters();
+    }
+
+    synchronized void setGlobal(LanguageMatrix.Builder b) { globalMatrix = b.build(registry); }
+
+    synchronized void setTopics(Map<String, LanguageMatrix.Builder> builders) {
+        Map<String, LanguageMatrix> m = new HashMap<>();
+        builders.forEach((t, b) -> m.put(t, b.build(registry)));
+        topicMatrices = m;
+    }
+
+    synchronized void setWords(WordOutlierStore.Builder b) { wordOutliers = b.build(registry); }
+    synchronized void setTopicOutliers(List<TopicOutlierRecord> l) { topicOutliers = l; }
+    synchronized void setCommunities(Map<String, Map<String, Integer>> m) { communities = m; }
+    synchronized void setMetaClusters(Map<String, Integer> m) { metaClusters = m; }
+
+    synchronized DatasetSnapshot snapshot() {
+        Map<Integer, List<String>> members = new HashMap<>();
+        metaClusters.forEach((t, id) -> members.computeIfAbsent(id, k -> new ArrayList<>()).add(t));
+        members.values().forEach(Collections::sort);
+        Map<String, Map<String, Integer>> comms = new HashMap<>();
+        communities.forEach((k, v) -> comms.put(k, new HashMap<>(v)));
+        return new DatasetSnapshot(suffix, registry, new HashMap<>(topicMatrices), globalMatrix, wordOutliers,
+                new ArrayList<>(topicOutliers), comms, new HashMap<>(metaClusters), members);
+    }
+}
@@ -0,0 +1,42 @@
+package com.language_proximity.service;
+
+import com.language_proximity.model.DatasetSnapshot;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU cache of parsed dataset snapshots keyed by mode suffix, bounded by an estimated heap budget.
+// The most recently inserted snapshot is always kept, even when it alone exceeds the budget.
+public class SnapshotCache {
+    private final long budgetBytes;
+    private final LinkedHashMap<String, DatasetSnapshot> entries = new LinkedHashMap<>(4, 0.75f, true);
+    private long usedBytes;
+
+    public SnapshotCache(long budgetBytes) { this.budgetBytes = budgetBytes; }
+
+    public synchronized DatasetSnapshot get(String suffix) { return entries.get(suffix); }
+
+    public synchronized void put(String suffix, DatasetSnapshot snapshot) {
+        DatasetSnapshot old = entries.put(suffix, snapshot);
+        if (old != null) usedBytes -= old.estimateBytes();
+        usedBytes += snapshot.estimateBytes();
+
+        Iterator<Map.Entry<String, DatasetSnapshot>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && entries.size() > 1) {
+            Map.Entry<String, DatasetSnapshot> eldest = it.next();
+            if (eldest.getKey().equals(suffix)) continue;
+            System.out.println("Evicting cached dataset: " + eldest.getKey());
+            usedBytes -= eldest.getValue().estimateBytes();
+            it.remove();
+        }
+    }
+
+    public synchronized void invalidate(String suffix) {
+        DatasetSnapshot old = entries.remove(suffix);
+        if (old != null) usedBytes -= old.estimateBytes();
+    }
+
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public long getBudgetBytes() { return budgetBytes; }
+}
@@ -1,6 +1,7 @@
 package com.language_proximity.ui.components;
 
-import com.language_proximity.model.WordOutlierRecord;
+import com.language_proximity.model.WordOutlierStore;
+import com.language_proximity.model.WordOutlierView;
 import com.language_proximity.utils.Constants;
 
 import javax.swing.*;
@@ -20,14 +21,23 @@ public class OutlierBarChartPanel extends JPanel {
 
     public OutlierBarChartPanel() { setBackground(new Color(43, 43, 43)); }
 
-    public void updateData(List<WordOutlierRecord> data) {
+    public void updateData(WordOutlierView data) {
         positiveCount.clear(); negativeCount.clear();
-        for (WordOutlierRecord rec : data) {
-            String n1 = Constants.getFullLangName(rec.lang1);
-            String n2 = Constants.getFullLangName(rec.lang2);
+        WordOutlierStore store = data.store();
+        int n = store.languageCount();
+        int[] pos = new int[n * n], neg = new int[n * n];
+        for (int i = 0; i < data.size(); i++) {
+            int row = data.row(i);
+            int k = store.getLang1(row) * n + store.getLang2(row);
+            if (store.isPositive(row)) pos[k]++; else neg[k]++;
+        }
+        for (int k = 0; k < n * n; k++) {
+            if (pos[k] == 0 && neg[k] == 0) continue;
+            String n1 = Constants.getFullLangName(store.getLanguages().code(k / n));
+            String n2 = Constants.getFullLangName(store.getLanguages().code(k % n));
             String pair = n1.compareTo(n2) < 0 ? n1 + "|" + n2 : n2 + "|" + n1;
-            if ("Positive".equalsIgnoreCase(rec.outlierType)) positiveCount.put(pair, positiveCount.getOrDefault(pair, 0) + 1);
-            else negativeCount.put(pair, negativeCount.getOrDefault(pair, 0) + 1);
+            if (pos[k] > 0) positiveCount.merge(pair, pos[k], Integer::sum);
+            if (neg[k] > 0) negativeCount.merge(pair, neg[k], Integer::sum);
         }
         Set<String> allPairs = new HashSet<>();
         allPairs.addAll(positiveCount.keySet()); allPairs.addAll(negativeCount.keySet());
@@ -2,58 +2,92 @@ package com.language_proximity.ui.components;
 
 import com.language_proximity.model.TopicOutlierRecord;
 import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.Latency;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 
+// Topics x language-pair grid of topic deviations. The grid is rendered into cached tiles that are dropped only by
+// updateData (or a size/scale change); paints blit just the tiles under the clip, and hovering repaints only the
+// old and new cell.
 public class OutlierHeatmapPanel extends JPanel {
-    private Map<String, Map<String, Double>> deviationMap = new HashMap<>();
+    private static final int CELL_W = 60, CELL_H = 25, LEFT_MARGIN = 160, TOP_MARGIN = 140;
+    private static final Font LABEL_FONT = new Font("SansSerif", Font.PLAIN, 11);
+    private static final Font TOPIC_FONT = new Font("SansSerif", Font.BOLD, 11);
+    private static final Font VALUE_FONT = new Font("SansSerif", Font.PLAIN, 10);
+    private static final Color GRID_COLOR = new Color(60, 60, 60);
+    private static final Color EMPTY_BORDER = new Color(50, 50, 50), EMPTY_TEXT = new Color(70, 70, 70);
+    private static final BasicStroke HOVER_STROKE = new BasicStroke(2);
+    private static final int TILE = 256, MAX_TILES = 192;
+
     private List<String> languages = new ArrayList<>();
     private List<String> topics = new ArrayList<>();
-    private String hoveredCell = null;
+    private double[] deviations = new double[0];  // [topic * pairs + pair], NaN where there is no outlier
+    private int hoverRow = -1, hoverCol = -1;
+
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) { return size() > MAX_TILES; }
+    };
+    private double tileScale;
+    private int tileWidth;
 
     public OutlierHeatmapPanel() {
         setBackground(new Color(43, 43, 43));
         addMouseMotionListener(new java.awt.event.MouseAdapter() {
             public void mouseMoved(java.awt.event.MouseEvent e) {
-                hoveredCell = getCellAt(e.getX(), e.getY());
-                repaint();
+                int col = colAt(e.getX()), row = rowAt(e.getY());
+                if (row < 0 || col < 0) row = col = -1;
+                if (row == hoverRow && col == hoverCol) return;
+                repaintCell(hoverRow, hoverCol);
+                hoverRow = row; hoverCol = col;
+                repaintCell(hoverRow, hoverCol);
             }
         });
     }
 
     public void updateData(List<TopicOutlierRecord> data) {
-        deviationMap.clear();
         Set<String> langSet = new HashSet<>();
         Set<String> topicSet = new HashSet<>();
         for (TopicOutlierRecord rec : data) {
-            String pair = rec.lang1 + "|" + rec.lang2;
-            langSet.add(pair); topicSet.add(rec.topic);
-            deviationMap.computeIfAbsent(rec.topic, k -> new HashMap<>()).put(pair, rec.difference);
+            langSet.add(rec.lang1 + "|" + rec.lang2); topicSet.add(rec.topic);
         }
         languages = new ArrayList<>(langSet);
         topics = new ArrayList<>(topicSet);
         Collections.sort(languages); Collections.sort(topics);
 
-        int cellW = 60; int cellH = 25; int leftMargin = 160; int topMargin = 140;
-        int width = leftMargin + languages.size() * cellW + 50;
-        int height = topMargin + topics.size() * cellH + 50;
+        Map<String, Integer> pairIndex = new HashMap<>(), topicIndex = new HashMap<>();
+        for (int i = 0; i < languages.size(); i++) pairIndex.put(languages.get(i), i);
+        for (int i = 0; i < topics.size(); i++) topicIndex.put(topics.get(i), i);
+        deviations = new double[topics.size() * languages.size()];
+        Arrays.fill(deviations, Double.NaN);
+        for (TopicOutlierRecord rec : data) {
+            deviations[topicIndex.get(rec.topic) * languages.size() + pairIndex.get(rec.lang1 + "|" + rec.lang2)] = rec.difference;
+        }
+
+        tiles.clear();
+        hoverRow = hoverCol = -1;
+        int width = LEFT_MARGIN + languages.size() * CELL_W + 50;
+        int height = TOP_MARGIN + topics.size() * CELL_H + 50;
         setPreferredSize(new Dimension(width, height));
         revalidate(); repaint();
     }
 
-    private String getCellAt(int mx, int my) {
-        if (topics.isEmpty() || languages.isEmpty()) return null;
-        int leftMargin = 160; int topMargin = 140; int cellW = 60; int cellH = 25;
-        int col = (mx - leftMargin) / cellW;
-        int row = (my - topMargin) / cellH;
-        if (col >= 0 && col < languages.size() && row >= 0 && row < topics.size()) {
-            return topics.get(row) + "|" + languages.get(col);
-        }
-        return null;
+    private int colAt(int mx) {
+        int col = Math.floorDiv(mx - LEFT_MARGIN, CELL_W);
+        return col >= 0 && col < languages.size() ? col : -1;
+    }
+
+    private int rowAt(int my) {
+        int row = Math.floorDiv(my - TOP_MARGIN, CELL_H);
+        return row >= 0 && row < topics.size() ? row : -1;
+    }
+
+    private void repaintCell(int row, int col) {
+        if (row >= 0 && col >= 0) repaint(LEFT_MARGIN + col * CELL_W - 1, TOP_MARGIN + row * CELL_H - 1, CELL_W + 2, CELL_H + 2);
     }
 
     private Color getColorForValue(double val) {
@@ -76,53 +110,92 @@ public class OutlierHeatmapPanel extends JPanel {
         super.paintComponent(g);
         if (topics.isEmpty()) { g.setColor(Color.WHITE); g.drawString("No data available to display heatmap", 20, 30); return; }
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        int leftMargin = 160; int topMargin = 140; int cellW = 60; int cellH = 25;
-        g2.setFont(new Font("SansSerif", Font.PLAIN, 11));
-        AffineTransform originalTransform = g2.getTransform();
-
-        for (int i = 0; i < languages.size(); i++) {
-            String pairCode = languages.get(i);
-            String[] parts = pairCode.split("\\|");
-            String l1 = Constants.getFullLangName(parts[0]);
-            String l2 = Constants.getFullLangName(parts[1]);
-            if(l1.length() > 10) l1 = l1.substring(0, 10) + ".";
-            if(l2.length() > 10) l2 = l2.substring(0, 10) + ".";
-            String label = l1 + " / " + l2;
-            int x = leftMargin + i * cellW + cellW/2;
-            int y = topMargin - 5;
-            g2.translate(x, y); g2.rotate(-Math.PI / 4); g2.setColor(Color.LIGHT_GRAY);
-            g2.drawString(label, 0, 0); g2.setTransform(originalTransform);
+
+        // Tiles are rendered at device resolution so HiDPI screens stay sharp; row separators span the full width
+        double scale = g2.getTransform().getScaleX();
+        if (scale != tileScale || getWidth() != tileWidth) { tiles.clear(); tileScale = scale; tileWidth = getWidth(); }
+
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int px = (int) Math.ceil(TILE * scale);
+        for (int ty = Math.max(0, clip.y / TILE); ty * TILE < clip.y + clip.height; ty++) {
+            for (int tx = Math.max(0, clip.x / TILE); tx * TILE < clip.x + clip.width; tx++) {
+                long key = ((long) ty << 32) | tx;
+                BufferedImage tile = tiles.get(key);
+                if (tile == null) tiles.put(key, tile = renderTile(tx * TILE, ty * TILE, scale, px));
+                g2.drawImage(tile, tx * TILE, ty * TILE, tx * TILE + TILE, ty * TILE + TILE, 0, 0, px, px, null);
+            }
         }
 
-        for (int row = 0; row < topics.size(); row++) {
-            String topic = topics.get(row);
-            int y = topMargin + row * cellH;
-            g2.setColor(Color.WHITE); g2.setFont(new Font("SansSerif", Font.BOLD, 11));
-            g2.drawString(topic, 5, y + 18);
-            g2.setColor(new Color(60, 60, 60)); g2.drawLine(5, y + 24, getWidth(), y + 24);
-
-            for (int col = 0; col < languages.size(); col++) {
-                String pair = languages.get(col);
-                Double dev = deviationMap.getOrDefault(topic, new HashMap<>()).get(pair);
-                int x = leftMargin + col * cellW;
-                if (dev != null) {
-                    g2.setColor(getColorForValue(dev)); g2.fillRect(x, y, cellW-1, cellH-1);
-                    if (Math.abs(dev) > 0.05) {
-                        g2.setColor(Color.WHITE); g2.setFont(new Font("SansSerif", Font.PLAIN, 10));
-                        String valStr = String.format("%+.2f", dev);
-                        int strW = g2.getFontMetrics().stringWidth(valStr);
-                        g2.drawString(valStr, x + (cellW - strW)/2, y + 17);
-                    }
-                } else {
-                    g2.setColor(new Color(50, 50, 50)); g2.drawRect(x, y, cellW-1, cellH-1);
-                    g2.setColor(new Color(70, 70, 70)); g2.drawString("-", x + cellW/2 - 2, y + 17);
+        if (hoverRow >= 0 && hoverCol >= 0) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(Color.YELLOW); g2.setStroke(HOVER_STROKE);
+            g2.drawRect(LEFT_MARGIN + hoverCol * CELL_W, TOP_MARGIN + hoverRow * CELL_H, CELL_W - 1, CELL_H - 1);
+        }
+    }
+
+    // Draws only the labels, rows and cells that can reach the tile at (x0, y0)
+    private BufferedImage renderTile(int x0, int y0, double scale, int px) {
+        long start = System.nanoTime();
+        BufferedImage img = new BufferedImage(px, px, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = img.createGraphics();
+        try {
+            g2.scale(scale, scale);
+            g2.translate(-x0, -y0);
+            g2.setClip(x0, y0, TILE, TILE);
+            g2.setColor(getBackground()); g2.fillRect(x0, y0, TILE, TILE);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            int firstCol = Math.max(0, (x0 - LEFT_MARGIN - 150) / CELL_W), lastCol = Math.min(languages.size() - 1, (x0 + TILE - LEFT_MARGIN) / CELL_W);
+            int firstRow = Math.max(0, (y0 - TOP_MARGIN) / CELL_H - 1), lastRow = Math.min(topics.size() - 1, (y0 + TILE - TOP_MARGIN) / CELL_H);
+
+            if (y0 < TOP_MARGIN) {
+                g2.setFont(LABEL_FONT);
+                AffineTransform originalTransform = g2.getTransform();
+                for (int i = firstCol; i <= lastCol; i++) {
+                    String pairCode = languages.get(i);
+                    String[] parts = pairCode.split("\\|");
+                    String l1 = Constants.getFullLangName(parts[0]);
+                    String l2 = Constants.getFullLangName(parts[1]);
+                    if(l1.length() > 10) l1 = l1.substring(0, 10) + ".";
+                    if(l2.length() > 10) l2 = l2.substring(0, 10) + ".";
+                    String label = l1 + " / " + l2;
+                    int x = LEFT_MARGIN + i * CELL_W + CELL_W/2;
+                    int y = TOP_MARGIN - 5;
+                    g2.translate(x, y); g2.rotate(-Math.PI / 4); g2.setColor(Color.LIGHT_GRAY);
+                    g2.drawString(label, 0, 0); g2.setTransform(originalTransform);
                 }
-                if (hoveredCell != null && hoveredCell.equals(topic + "|" + pair)) {
-                    g2.setColor(Color.YELLOW); g2.setStroke(new BasicStroke(2));
-                    g2.drawRect(x, y, cellW-1, cellH-1); g2.setStroke(new BasicStroke(1));
+            }
+
+            FontMetrics valueMetrics = g2.getFontMetrics(VALUE_FONT);
+            for (int row = firstRow; row <= lastRow; row++) {
+                int y = TOP_MARGIN + row * CELL_H;
+                if (x0 < LEFT_MARGIN) { g2.setColor(Color.WHITE); g2.setFont(TOPIC_FONT); g2.drawString(topics.get(row), 5, y + 18); }
+                g2.setColor(GRID_COLOR); g2.drawLine(5, y + 24, tileWidth, y + 24);
+
+                g2.setFont(VALUE_FONT);
+                for (int col = Math.max(0, firstCol); col <= lastCol; col++) {
+                    double dev = deviations[row * languages.size() + col];
+                    int x = LEFT_MARGIN + col * CELL_W;
+                    if (!Double.isNaN(dev)) {
+                        g2.setColor(getColorForValue(dev)); g2.fillRect(x, y, CELL_W-1, CELL_H-1);
+                        if (Math.abs(dev) > 0.05) {
+                            g2.setColor(Color.WHITE);
+                            String valStr = String.format("%+.2f", dev);
+                            int strW = valueMetrics.stringWidth(valStr);
+                            g2.drawString(valStr, x + (CELL_W - strW)/2, y + 17);
+                        }
+                    } else {
+                        g2.setColor(EMPTY_BORDER); g2.drawRect(x, y, CELL_W-1, CELL_H-1);
+                        g2.setColor(EMPTY_TEXT); g2.drawString("-", x + CELL_W/2 - 2, y + 17);
+                    }
                 }
             }
+        } finally {
+            g2.dispose();
+            Latency.record("paint.outlierHeatmap.tile", System.nanoTime() - start);
         }
+        return img;
     }
-}
\ No newline at end of file
+}
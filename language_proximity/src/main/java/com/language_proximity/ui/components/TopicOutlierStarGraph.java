@@ -12,6 +12,7 @@ import org.graphstream.ui.view.Viewer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 public class TopicOutlierStarGraph extends JPanel {
@@ -61,10 +62,11 @@ public class TopicOutlierStarGraph extends JPanel {
         center.setAttribute("ui.class", "center");
         center.setAttribute("ui.label", "Global Avg (" + topic + ")");
 
-        data.sort((a, b) -> Double.compare(Math.abs(b.difference), Math.abs(a.difference)));
+        List<TopicOutlierRecord> sorted = new ArrayList<>(data);
+        sorted.sort((a, b) -> Double.compare(Math.abs(b.difference), Math.abs(a.difference)));
         int limit = 30; int count = 0;
 
-        for (TopicOutlierRecord rec : data) {
+        for (TopicOutlierRecord rec : sorted) {
             if (count++ > limit) break;
             String pairId = rec.lang1 + "|" + rec.lang2;
             if (starGraph.getNode(pairId) != null) continue;
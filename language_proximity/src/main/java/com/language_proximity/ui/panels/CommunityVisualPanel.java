@@ -1,5 +1,8 @@
 package com.language_proximity.ui.panels;
 
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.service.CommunityService;
 import com.language_proximity.utils.Constants;
 import com.language_proximity.utils.UIUtils;
 import org.graphstream.graph.Edge;
@@ -13,20 +16,50 @@ import org.graphstream.ui.view.Viewer;
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class CommunityVisualPanel extends JPanel {
     private Graph clusterGraph;
     private JTree topicTree;
     private DefaultTreeModel treeModel;
     private DefaultMutableTreeNode rootNode;
+    private final CommunityService communityService;
+    private JSlider edgeSlider;
+    private JSpinner resolutionSpinner;
+    private JCheckBox liveBox;
+    private JLabel edgeLabel;
 
-    public CommunityVisualPanel() {
+    private JSpinner cutoffSpinner;
+    private JCheckBox liveTopicsBox;
+
+    private Map<String, Integer> offlineCommunities;
+    private LanguageMatrix scopeMatrix;
+    private String selectedTopic;
+    private Map<Integer, List<String>> offlineTopicGroups = Map.of();
+    private Map<String, LanguageMatrix> topicMatrices = Map.of();
+    private final List<List<String>> shownGroups = new ArrayList<>();   // members of each group node, in tree order
+
+    // Live Leiden and topic similarity run on this thread; a result reaches the view only if it is still the latest
+    // request for that view, and requests superseded while queued are skipped
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "community-worker");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile int clusterRequest, treeRequest;   // written on the EDT only
+    private static final int MAX_EXPANDED_GROUPS = 200;    // beyond this only the current topic's group opens
+
+    public CommunityVisualPanel(CommunityService communityService) {
         super(new GridLayout(1, 2, 10, 0));
+        this.communityService = communityService;
 
         clusterGraph = new SingleGraph("ClusterGraph");
         clusterGraph.setAttribute("ui.stylesheet", "graph { fill-color: #2B2B2B; } node { size: 25px; text-color: #EEE; text-style: bold; stroke-mode: plain; stroke-color: #333; } edge { fill-color: #555; }");
@@ -37,6 +70,7 @@ public class CommunityVisualPanel extends JPanel {
         JPanel leftPanel = new JPanel(new BorderLayout());
         leftPanel.setBorder(BorderFactory.createTitledBorder("Natural Language Clusters (Leiden)"));
         leftPanel.add(vp, BorderLayout.CENTER);
+        leftPanel.add(createClusterControls(), BorderLayout.NORTH);
 
         String commLegend = "NODES = Languages\n" +
                 "COLORS = Detected Families (Communities)\n" +
@@ -50,10 +84,14 @@ public class CommunityVisualPanel extends JPanel {
         topicTree = new JTree(treeModel);
         topicTree.setBackground(new Color(60, 63, 65));
         topicTree.setForeground(Color.WHITE);
+        // Fixed row heights let JTree use its large-model layout cache, so thousands of groups update without O(n^2) relayouts
+        if (topicTree.getRowHeight() <= 0) topicTree.setRowHeight(20);
+        topicTree.setLargeModel(true);
 
         JPanel rightPanel = new JPanel(new BorderLayout());
         rightPanel.setBorder(BorderFactory.createTitledBorder("Semantic Topic Groups"));
         rightPanel.add(new JScrollPane(topicTree), BorderLayout.CENTER);
+        rightPanel.add(createTopicControls(), BorderLayout.NORTH);
 
         String treeLegend = "SEMANTIC COHESION: This tree groups Topics that share similar linguistic patterns.\n" +
                 "MEANING: If topics are in the same folder, it means languages tend to borrow/evolve " +
@@ -64,7 +102,66 @@ public class CommunityVisualPanel extends JPanel {
         add(rightPanel);
     }
 
-    public void updateLanguageClusters(String topic, Map<String, Integer> communities, Map<String, Double> edgesData) {
+    // Edge cutoff applies to both views; live mode re-partitions the thresholded graph in-process instead of
+    // showing the offline CSV communities
+    private JPanel createClusterControls() {
+        edgeSlider = new JSlider(0, 100, 25);
+        edgeLabel = new JLabel("Min Edge Sim: 0.25");
+        resolutionSpinner = new JSpinner(new SpinnerNumberModel(1.0, 0.1, 5.0, 0.1));
+        liveBox = new JCheckBox("Live Leiden");
+        liveBox.setToolTipText("Recompute communities for the current edge threshold and resolution");
+
+        JPanel p = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        p.add(edgeLabel); p.add(edgeSlider);
+        p.add(new JLabel("Resolution:")); p.add(resolutionSpinner); p.add(liveBox);
+
+        edgeSlider.addChangeListener(e -> {
+            edgeLabel.setText(String.format("Min Edge Sim: %.2f", edgeSlider.getValue() / 100.0));
+            if (!edgeSlider.getValueIsAdjusting()) redraw();
+        });
+        resolutionSpinner.addChangeListener(e -> { if (liveBox.isSelected()) redraw(); });
+        liveBox.addActionListener(e -> redraw());
+        return p;
+    }
+
+    // Live mode links topics whose language-pair profiles have a cosine above the cutoff and groups them with Leiden
+    private JPanel createTopicControls() {
+        cutoffSpinner = new JSpinner(new SpinnerNumberModel(0.995, 0.5, 1.0, 0.001));
+        cutoffSpinner.setEditor(new JSpinner.NumberEditor(cutoffSpinner, "0.000"));
+        liveTopicsBox = new JCheckBox("Live grouping");
+        liveTopicsBox.setToolTipText("Regroup topics for the current cosine cutoff");
+
+        JPanel p = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        p.add(new JLabel("Cosine cutoff:")); p.add(cutoffSpinner); p.add(liveTopicsBox);
+
+        cutoffSpinner.addChangeListener(e -> { if (liveTopicsBox.isSelected()) rebuildTopicTree(); });
+        liveTopicsBox.addActionListener(e -> rebuildTopicTree());
+        return p;
+    }
+
+    public void updateLanguageClusters(String topic, Map<String, Integer> communities, LanguageMatrix edgesData) {
+        offlineCommunities = communities;
+        scopeMatrix = edgesData;
+        redraw();
+    }
+
+    private void redraw() {
+        int request = ++clusterRequest;
+        double threshold = edgeSlider.getValue() / 100.0;
+        LanguageMatrix edgesData = scopeMatrix;
+        if (liveBox.isSelected() && edgesData != null && !edgesData.isEmpty()) {
+            double resolution = (Double) resolutionSpinner.getValue();
+            worker.execute(() -> {
+                if (request != clusterRequest) return;
+                Map<String, Integer> live = communityService.partition(edgesData, threshold, resolution);
+                SwingUtilities.invokeLater(() -> { if (request == clusterRequest) drawClusters(live, edgesData, threshold); });
+            });
+            return;
+        }
+        drawClusters(offlineCommunities, edgesData, threshold);
+    }
+
+    private void drawClusters(Map<String, Integer> communities, LanguageMatrix edgesData, double threshold) {
         clusterGraph.clear();
         clusterGraph.setAttribute("ui.stylesheet", "graph { fill-color: #2B2B2B; } node { text-color: #EEE; stroke-mode: plain; stroke-color: #222; text-style: bold; } edge { fill-color: #666; }");
 
@@ -77,44 +174,100 @@ public class CommunityVisualPanel extends JPanel {
             Node n = clusterGraph.addNode(lang);
             n.setAttribute("ui.label", Constants.getFullLangName(lang));
 
-            Color c = Constants.COMMUNITY_COLORS[cid % Constants.COMMUNITY_COLORS.length];
+            Color c = UIUtils.COMMUNITY_COLORS[cid % UIUtils.COMMUNITY_COLORS.length];
             String hex = String.format("#%02x%02x%02x", c.getRed(), c.getGreen(), c.getBlue());
             n.setAttribute("ui.style", "fill-color: " + hex + "; size: 28px;");
         }
 
         if (edgesData != null) {
-            for (Map.Entry<String, Double> entry : edgesData.entrySet()) {
-                String[] parts = entry.getKey().split("_");
-                if (parts.length < 2) continue;
-                String l1 = parts[0]; String l2 = parts[1];
-                double weight = entry.getValue();
-                if (clusterGraph.getNode(l1) != null && clusterGraph.getNode(l2) != null && weight > 0.25) {
-                    if (clusterGraph.getEdge(l1 + "_" + l2) == null && clusterGraph.getEdge(l2 + "_" + l1) == null) {
-                        Edge e = clusterGraph.addEdge(l1 + "_" + l2, l1, l2);
-                        int size = (int)(weight * 5);
-                        e.setAttribute("ui.style", "size: " + size + "px; fill-color: #555;");
-                        e.setAttribute("layout.weight", weight);
-                    }
+            LanguageRegistry reg = edgesData.getRegistry();
+            edgesData.forEachPair((i, j, weight) -> {
+                String l1 = reg.code(i); String l2 = reg.code(j);
+                if (weight > threshold && clusterGraph.getNode(l1) != null && clusterGraph.getNode(l2) != null) {
+                    Edge e = clusterGraph.addEdge(l1 + "_" + l2, l1, l2);
+                    int size = (int)(weight * 5);
+                    e.setAttribute("ui.style", "size: " + size + "px; fill-color: #555;");
+                    e.setAttribute("layout.weight", weight);
                 }
-            }
+            });
+        }
+    }
+
+    public void updateTopicTree(String selectedTopic, Map<Integer, List<String>> metaClusterMembers, Map<String, LanguageMatrix> topicMatrices) {
+        this.selectedTopic = selectedTopic;
+        this.offlineTopicGroups = metaClusterMembers;
+        this.topicMatrices = topicMatrices;
+        rebuildTopicTree();
+    }
+
+    private void rebuildTopicTree() {
+        int request = ++treeRequest;
+        Map<String, LanguageMatrix> matrices = topicMatrices;
+        if (liveTopicsBox.isSelected() && !matrices.isEmpty()) {
+            double cutoff = (Double) cutoffSpinner.getValue();
+            worker.execute(() -> {
+                if (request != treeRequest) return;
+                Map<Integer, List<String>> live = communityService.topicClusters(matrices, cutoff);
+                SwingUtilities.invokeLater(() -> { if (request == treeRequest) showTopicGroups(live); });
+            });
+            return;
         }
+        showTopicGroups(offlineTopicGroups);
     }
 
-    public void updateTopicTree(String selectedTopic, Map<Integer, List<String>> metaClusterMembers) {
-        rootNode.removeAllChildren();
+    // Diffs the new groups against the tree: unchanged groups keep their nodes (and expansion state), relabelled
+    // ones are only repainted, and just the groups whose members changed are rebuilt
+    private void showTopicGroups(Map<Integer, List<String>> source) {
         Map<Integer, List<String>> groups = new TreeMap<>();
-        metaClusterMembers.forEach((id, list) -> { Collections.sort(list); groups.put(id, list); });
+        source.forEach((id, list) -> { List<String> sorted = new ArrayList<>(list); Collections.sort(sorted); groups.put(id, sorted); });
 
+        int k = 0, firstNew = shownGroups.size();
+        boolean expandAll = groups.size() <= MAX_EXPANDED_GROUPS;
         for (Map.Entry<Integer, List<String>> entry : groups.entrySet()) {
             int clusterId = entry.getKey();
             List<String> topics = entry.getValue();
             String folderName = "Semantic Group " + clusterId + " (" + topics.size() + ")";
             if (topics.contains(selectedTopic)) folderName += " [CURRENT]";
-            DefaultMutableTreeNode groupNode = new DefaultMutableTreeNode(folderName);
-            for (String t : topics) groupNode.add(new DefaultMutableTreeNode(t));
-            rootNode.add(groupNode);
+
+            if (k < shownGroups.size()) {
+                DefaultMutableTreeNode groupNode = (DefaultMutableTreeNode) rootNode.getChildAt(k);
+                if (!topics.equals(shownGroups.get(k))) {
+                    groupNode.removeAllChildren();
+                    for (String t : topics) groupNode.add(new DefaultMutableTreeNode(t));
+                    groupNode.setUserObject(folderName);
+                    treeModel.nodeStructureChanged(groupNode);
+                    if (expandAll || topics.contains(selectedTopic)) topicTree.expandPath(new TreePath(groupNode.getPath()));
+                    shownGroups.set(k, topics);
+                } else if (!folderName.equals(groupNode.getUserObject())) {
+                    groupNode.setUserObject(folderName);
+                    treeModel.nodeChanged(groupNode);
+                }
+            } else {
+                DefaultMutableTreeNode groupNode = new DefaultMutableTreeNode(folderName);
+                for (String t : topics) groupNode.add(new DefaultMutableTreeNode(t));
+                rootNode.add(groupNode);
+                shownGroups.add(topics);
+            }
+            k++;
+        }
+        // Appended and dropped groups go to the tree as one event each, however many there are
+        if (k > firstNew) {
+            int[] inserted = new int[k - firstNew];
+            for (int i = 0; i < inserted.length; i++) inserted[i] = firstNew + i;
+            treeModel.nodesWereInserted(rootNode, inserted);
+            for (int i : inserted) {
+                if (expandAll || shownGroups.get(i).contains(selectedTopic)) topicTree.expandPath(new TreePath(((DefaultMutableTreeNode) rootNode.getChildAt(i)).getPath()));
+            }
+        }
+        if (shownGroups.size() > k) {
+            int[] removed = new int[shownGroups.size() - k];
+            Object[] nodes = new Object[removed.length];
+            for (int i = removed.length - 1; i >= 0; i--) {
+                removed[i] = k + i; nodes[i] = rootNode.getChildAt(k + i);
+                rootNode.remove(k + i);
+                shownGroups.remove(k + i);
+            }
+            treeModel.nodesWereRemoved(rootNode, removed, nodes);
         }
-        treeModel.reload();
-        for (int i = 0; i < topicTree.getRowCount(); i++) topicTree.expandRow(i);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.language_proximity.ui.panels;
 
+import com.language_proximity.model.LanguageMatrix;
 import com.language_proximity.utils.Constants;
 import com.language_proximity.utils.UIUtils;
 
@@ -7,8 +8,6 @@ import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
-import java.util.*;
-import java.util.List;
 
 public class HeatmapPanel extends JPanel {
     private JTable table;
@@ -20,29 +19,7 @@ public class HeatmapPanel extends JPanel {
         table = new JTable(model);
         table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
         table.setShowGrid(false); table.setIntercellSpacing(new Dimension(1, 1));
-        table.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
-            @Override public Component getTableCellRendererComponent(JTable t, Object v, boolean isS, boolean hasF, int r, int c) {
-                Component comp = super.getTableCellRendererComponent(t, v, isS, hasF, r, c);
-                if (c == 0) { comp.setBackground(Color.DARK_GRAY); comp.setForeground(Color.WHITE); return comp; }
-
-                if (v instanceof Double) {
-                    double val = (Double) v;
-                    String rowLang = (String) table.getValueAt(r, 0);
-                    String colLang = table.getColumnName(c);
-
-                    if (val == 0.0 && !rowLang.equals(colLang)) {
-                        comp.setBackground(new Color(30, 30, 30));
-                        comp.setForeground(Color.DARK_GRAY);
-                        setText("-");
-                    } else {
-                        float hue = (float) (0.7 - (val * 0.7)); if (val == 0.0) hue = 0.66f;
-                        comp.setBackground(Color.getHSBColor(hue, 0.7f, 0.8f)); comp.setForeground(Color.BLACK);
-                        setText(String.format("%.2f", val));
-                    }
-                } else { comp.setBackground(Color.GRAY); setText(""); }
-                return comp;
-            }
-        });
+        table.setDefaultRenderer(Object.class, new HeatmapRenderer());
         add(new JScrollPane(table), BorderLayout.CENTER);
         String matLegend = "THE METRIC: Normalized Levenshtein Distance (0.0 = Totally Different, 1.0 = Identical).\n" +
                 "HOW TO READ: Find the intersection of two languages.\n" +
@@ -51,28 +28,63 @@ public class HeatmapPanel extends JPanel {
                 "USE CASE: Quickly identifying the closest relative of a specific language.";
         add(UIUtils.createInfoPanel("Matrix Legend", matLegend, null), BorderLayout.SOUTH);
     }
-    public void updateData(Map<String, Double> d) {
-        Set<String> s = new HashSet<>(); d.keySet().forEach(k -> Collections.addAll(s, k.split("_")));
-        List<String> l = new ArrayList<>(s); Collections.sort(l);
-        model.setData(d, l); model.fireTableStructureChanged();
+    public void updateData(LanguageMatrix d) {
+        model.setData(d); model.fireTableStructureChanged();
         if(table.getColumnModel().getColumnCount() > 0)
             table.getColumnModel().getColumn(0).setPreferredWidth(120);
     }
 
-    private static class HeatmapTableModel extends AbstractTableModel {
-        private List<String> l = new ArrayList<>(); private Map<String, Double> d = new HashMap<>();
-        public void setData(Map<String, Double> da, List<String> la) { d = da; l = la; }
-        @Override public int getRowCount() { return l.size(); }
-        @Override public int getColumnCount() { return l.size() + 1; }
-        @Override public String getColumnName(int c) {
-            if (c == 0) return "Language";
-            String code = l.get(c - 1);
-            return Constants.getFullLangName(code);
+    // Colors and labels come from the model's per-cell tables, so painting a cell allocates nothing
+    private class HeatmapRenderer extends DefaultTableCellRenderer {
+        @Override public Component getTableCellRendererComponent(JTable t, Object v, boolean isS, boolean hasF, int r, int c) {
+            setFont(t.getFont());
+            setBorder(hasF ? UIManager.getBorder("Table.focusCellHighlightBorder") : noFocusBorder);
+            int mc = t.convertColumnIndexToModel(c);
+            if (mc == 0) { setBackground(Color.DARK_GRAY); setForeground(Color.WHITE); setText(model.names[r]); return this; }
+
+            int cell = r * model.n + mc - 1;
+            int shade = model.shades[cell];
+            if (shade < 0) {
+                setBackground(EMPTY_BACKGROUND); setForeground(Color.DARK_GRAY);
+            } else {
+                setBackground(PALETTE[shade]); setForeground(Color.BLACK);
+            }
+            setText(model.labels[cell]);
+            return this;
         }
-        @Override public Object getValueAt(int r, int c) {
-            if (c == 0) return Constants.getFullLangName(l.get(r));
-            String k1 = l.get(r) + "_" + l.get(c - 1); String k2 = l.get(c - 1) + "_" + l.get(r);
-            return l.get(r).equals(l.get(c-1)) ? 1.0 : (d.containsKey(k1) ? d.get(k1) : (d.containsKey(k2) ? d.get(k2) : 0.0));
+    }
+
+    private static final Color EMPTY_BACKGROUND = new Color(30, 30, 30);
+    // Similarity quantized to 256 hues (0.0 maps to 0.7, 1.0 to red); the extra last entry is the exact-zero diagonal color
+    private static final int SHADES = 256;
+    private static final Color[] PALETTE = new Color[SHADES + 1];
+    static {
+        for (int i = 0; i < SHADES; i++) PALETTE[i] = Color.getHSBColor((float) (0.7 - (i / (double) (SHADES - 1)) * 0.7), 0.7f, 0.8f);
+        PALETTE[SHADES] = Color.getHSBColor(0.66f, 0.7f, 0.8f);
+    }
+
+    static class HeatmapTableModel extends AbstractTableModel {
+        private int n; private String[] names = new String[0]; private Double[] cells = new Double[0];
+        private String[] labels = new String[0]; private int[] shades = new int[0];  // -1 for a missing pair
+        public void setData(LanguageMatrix m) {
+            int[] l = m.getLanguages(); n = l.length;
+            names = new String[n]; cells = new Double[n * n];
+            labels = new String[n * n]; shades = new int[n * n];
+            for (int r = 0; r < n; r++) {
+                names[r] = Constants.getFullLangName(m.getRegistry().code(l[r]));
+                for (int c = 0; c < n; c++) {
+                    int k = r * n + c;
+                    double v = m.get(l[r], l[c]);
+                    cells[k] = Double.isNaN(v) ? 0.0 : v;
+                    if (cells[k] == 0.0 && r != c) { shades[k] = -1; labels[k] = "-"; continue; }
+                    shades[k] = cells[k] == 0.0 ? SHADES : (int) Math.round(Math.max(0, Math.min(1, cells[k])) * (SHADES - 1));
+                    labels[k] = String.format("%.2f", cells[k]);
+                }
+            }
         }
+        @Override public int getRowCount() { return n; }
+        @Override public int getColumnCount() { return n + 1; }
+        @Override public String getColumnName(int c) { return c == 0 ? "Language" : names[c - 1]; }
+        @Override public Object getValueAt(int r, int c) { return c == 0 ? names[r] : cells[r * n + c - 1]; }
     }
 }
\ No newline at end of file
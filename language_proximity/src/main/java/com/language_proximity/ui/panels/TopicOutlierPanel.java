@@ -1,9 +1,11 @@
 package com.language_proximity.ui.panels;
 
+import com.language_proximity.model.TopicOutlierIndex;
 import com.language_proximity.model.TopicOutlierRecord;
 import com.language_proximity.ui.components.OutlierHeatmapPanel;
 import com.language_proximity.ui.components.TopicOutlierStarGraph;
 import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.Latency;
 import com.language_proximity.utils.UIUtils;
 
 import javax.swing.*;
@@ -15,7 +17,6 @@ import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class TopicOutlierPanel extends JPanel {
     private JTable table;
@@ -26,6 +27,7 @@ public class TopicOutlierPanel extends JPanel {
     private JSplitPane mainSplit, bottomSplit;
     private TableRowSorter<TopicOutlierModel> sorter;
     private JTextArea insightBox;
+    private TopicOutlierIndex index;
 
     public TopicOutlierPanel() {
         super(new BorderLayout());
@@ -82,12 +84,10 @@ public class TopicOutlierPanel extends JPanel {
                 int modelRow = table.convertRowIndexToModel(table.getSelectedRow());
                 TopicOutlierRecord rec = model.getRow(modelRow);
 
-                List<TopicOutlierRecord> topicData = model.getData().stream()
-                        .filter(r -> r.topic.equals(rec.topic))
-                        .collect(Collectors.toList());
+                List<TopicOutlierRecord> topicData = index.forTopic(rec.topic);
 
                 String pairId = rec.lang1 + "|" + rec.lang2;
-                starGraphPanel.updateData(topicData, rec.topic, pairId);
+                Latency.time("view.topicOutliers.starGraph", () -> starGraphPanel.updateData(topicData, rec.topic, pairId));
             }
         });
 
@@ -140,18 +140,20 @@ public class TopicOutlierPanel extends JPanel {
         else try { sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text)); } catch (Exception e) {}
     }
 
-    public void updateData(List<TopicOutlierRecord> data, String currentScope) {
+    public void updateData(TopicOutlierIndex index, String currentScope) {
+        this.index = index;
+        List<TopicOutlierRecord> data = index.forScope(currentScope);
         model.setData(data);
         model.fireTableDataChanged();
-        heatmapPanel.updateData(data);
+        Latency.time("view.topicOutliers.heatmap", () -> heatmapPanel.updateData(data));
 
         if ("Global".equals(currentScope)) {
             starGraphPanel.updateData(null, "WAITING_FOR_SELECTION", null);
             insightBox.setText("GLOBAL VIEW: Select a specific topic to see anomalies.");
         } else {
-            starGraphPanel.updateData(data, currentScope, null);
-            long pos = data.stream().filter(d -> "Positive".equals(d.outlierType)).count();
-            long neg = data.stream().filter(d -> "Negative".equals(d.outlierType)).count();
+            Latency.time("view.topicOutliers.starGraph", () -> starGraphPanel.updateData(data, currentScope, null));
+            int pos = index.positiveCount(currentScope);
+            int neg = data.size() - pos;
             String msg = "Topic: " + currentScope.toUpperCase() + "\nFound " + (pos + neg) + " outliers.";
             insightBox.setText(msg);
         }
@@ -1,11 +1,14 @@
 package com.language_proximity.ui.panels;
 
-import com.language_proximity.model.WordOutlierRecord;
+import com.language_proximity.model.WordOutlierStore;
+import com.language_proximity.model.WordOutlierView;
 import com.language_proximity.ui.components.OutlierBarChartPanel;
 import com.language_proximity.utils.Constants;
+import com.language_proximity.utils.Latency;
 import com.language_proximity.utils.UIUtils;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
@@ -13,8 +16,7 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class WordOutlierPanel extends JPanel {
     private JTable table;
@@ -23,6 +25,8 @@ public class WordOutlierPanel extends JPanel {
     private OutlierBarChartPanel barChartPanel;
     private JSplitPane splitPane;
     private TableRowSorter<WordOutlierModel> sorter;
+    private WordOutlierView scopeData;
+    private Timer searchTimer;
 
     public WordOutlierPanel() {
         super(new BorderLayout());
@@ -56,7 +60,8 @@ public class WordOutlierPanel extends JPanel {
 
                 int colIndex = columnAtPoint(p);
                 int realRowIndex = convertRowIndexToModel(row);
-                WordOutlierRecord rec = model.getRow(realRowIndex);
+                WordOutlierStore store = model.getStore();
+                int rec = model.getRow(realRowIndex);
 
                 if (colIndex >= 0) {
                     int realColIndex = convertColumnIndexToModel(colIndex);
@@ -68,7 +73,7 @@ public class WordOutlierPanel extends JPanel {
                                 "Mean Sim: %.3f<br>" +
                                 "Std Dev: %.3f<br>" +
                                 "Z-Score: %.3f</html>",
-                        rec.sourceWord, rec.topic, rec.mean, rec.std, rec.zScore);
+                        store.getSourceWord(rec), store.getTopic(rec), store.getMean(rec), store.getStd(rec), store.getZScore(rec));
             }
         };
 
@@ -76,10 +81,13 @@ public class WordOutlierPanel extends JPanel {
         table.setRowSorter(sorter);
         table.setRowHeight(24);
 
+        // Keystrokes are debounced; the query then runs against the store's trigram index
+        searchTimer = new Timer(120, e -> filter());
+        searchTimer.setRepeats(false);
         filterField.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { filter(); }
-            public void removeUpdate(DocumentEvent e) { filter(); }
-            public void changedUpdate(DocumentEvent e) { filter(); }
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+            public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
         });
 
         setupTableRenderer();
@@ -104,10 +112,9 @@ public class WordOutlierPanel extends JPanel {
                 Component comp = super.getTableCellRendererComponent(t, v, isS, hasF, r, c);
                 if (v instanceof Double) setText(String.format("%.2f", (Double)v));
                 int mRow = t.convertRowIndexToModel(r);
-                WordOutlierRecord rec = model.getRow(mRow);
                 if (!isS) {
                     setBackground(new Color(43, 43, 43));
-                    if ("Positive".equalsIgnoreCase(rec.outlierType)) setForeground(new Color(46, 204, 113));
+                    if (model.getStore().isPositive(model.getRow(mRow))) setForeground(new Color(46, 204, 113));
                     else setForeground(new Color(231, 76, 60));
                 } else {
                     setBackground(new Color(52, 73, 94));
@@ -118,23 +125,35 @@ public class WordOutlierPanel extends JPanel {
         });
     }
 
+    // Shows the rows of the current scope whose words, topic, languages or type contain every search token
     private void filter() {
+        searchTimer.stop();
+        if (scopeData == null) return;
         String text = filterField.getText();
-        if (text.trim().length() == 0) sorter.setRowFilter(null);
-        else try { sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text)); } catch (Exception e) { }
+        WordOutlierView rows = text.trim().isEmpty() ? scopeData : scopeData.filter(scopeData.store().searchIndex().search(text));
+        model.setData(rows); model.fireTableDataChanged();
     }
 
-    public void updateData(List<WordOutlierRecord> data) {
-        model.setData(data); model.fireTableDataChanged();
-        barChartPanel.updateData(data); filter();
+    public void updateData(WordOutlierView data) {
+        scopeData = data;
+        ForkJoinPool.commonPool().execute(data.store()::searchIndex); // warm the index before the first keystroke
+        Latency.time("view.wordOutliers.barChart", () -> barChartPanel.updateData(data));
+        Latency.time("view.wordOutliers.table", this::filter);
     }
 
     private static class WordOutlierModel extends AbstractTableModel {
-        private List<WordOutlierRecord> data = new ArrayList<>();
+        private WordOutlierView data;
+        private String[] pairLabels = new String[0], wordLabels = new String[0];
         private final String[] columns = {"Type", "Topic", "Concept", "Lang Pair", "Words", "Sim", "Z-Score"};
-        public void setData(List<WordOutlierRecord> d) { this.data = d; }
-        public WordOutlierRecord getRow(int r) { return data.get(r); }
-        @Override public int getRowCount() { return data.size(); }
+        public void setData(WordOutlierView d) {
+            this.data = d;
+            int n = d.store().languageCount();
+            pairLabels = new String[n * n];
+            wordLabels = new String[d.size()];
+        }
+        public WordOutlierStore getStore() { return data.store(); }
+        public int getRow(int r) { return data.row(r); }
+        @Override public int getRowCount() { return data == null ? 0 : data.size(); }
         @Override public int getColumnCount() { return columns.length; }
         @Override public String getColumnName(int c) { return columns[c]; }
         @Override public Class<?> getColumnClass(int columnIndex) {
@@ -142,17 +161,25 @@ public class WordOutlierPanel extends JPanel {
             return String.class;
         }
         @Override public Object getValueAt(int r, int c) {
-            WordOutlierRecord rec = data.get(r);
+            WordOutlierStore s = data.store();
+            int row = data.row(r);
             switch (c) {
-                case 0: return rec.outlierType;
-                case 1: return rec.topic;
-                case 2: return rec.sourceWord;
-                case 3: return Constants.getFullLangName(rec.lang1) + " - " + Constants.getFullLangName(rec.lang2);
-                case 4: return rec.word1 + " / " + rec.word2;
-                case 5: return rec.wordSimilarity;
-                case 6: return rec.zScore;
+                case 0: return s.getType(row);
+                case 1: return s.getTopic(row);
+                case 2: return s.getSourceWord(row);
+                case 3: return pairLabel(s, row);
+                case 4: return wordLabels[r] != null ? wordLabels[r] : (wordLabels[r] = s.getWord1(row) + " / " + s.getWord2(row));
+                case 5: return (double) s.getSimilarity(row);
+                case 6: return (double) s.getZScore(row);
                 default: return "";
             }
         }
+        // Labels are built lazily and shared by every row of the same language pair
+        private String pairLabel(WordOutlierStore s, int row) {
+            int k = s.getLang1(row) * s.languageCount() + s.getLang2(row);
+            String l = pairLabels[k];
+            if (l == null) pairLabels[k] = l = Constants.getFullLangName(s.getLang1Code(row)) + " - " + Constants.getFullLangName(s.getLang2Code(row));
+            return l;
+        }
     }
 }
\ No newline at end of file
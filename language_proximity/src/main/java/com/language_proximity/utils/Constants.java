@@ -1,24 +1,24 @@
 package com.language_proximity.utils;
 
-import java.awt.Color;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Constants {
 
+    public static final String[] MODE_SUFFIXES = {"_lexical", "_phonetic"};
+
     public static final String GRAPH_STYLE_SHEET =
             "graph { fill-color: #2B2B2B; }" +
             "node { fill-color: #888; size: 20px; text-size: 14; text-color: #EEE; text-background-mode: plain; text-background-color: #2B2B2B; stroke-mode: plain; stroke-color: #333; stroke-width: 1px; }" +
-            "edge { shape: line; fill-mode: plain; stroke-mode: plain; fill-color: rgba(0,0,0,0); }";
-
-    public static final Color[] COMMUNITY_COLORS = {
-            new Color(230, 25, 75), new Color(60, 180, 75), new Color(255, 225, 25),
-            new Color(0, 130, 200), new Color(245, 130, 48), new Color(145, 30, 180),
-            new Color(70, 240, 240), new Color(240, 50, 230), new Color(210, 245, 60),
-            new Color(250, 190, 212), new Color(0, 128, 128), new Color(220, 190, 255),
-            new Color(170, 110, 40), new Color(255, 250, 200), new Color(128, 0, 0)
-    };
+            "edge { shape: line; fill-mode: plain; stroke-mode: plain; fill-color: rgba(0,0,0,0); }" +
+            // Similarity bands applied through ui.class by MainWindow
+            "edge.filtered { fill-color: rgba(0,0,0,0); stroke-mode: none; size: 0px; }" +
+            "edge.sim90 { fill-color: #e74c3c; stroke-color: #e74c3c; stroke-mode: plain; size: 4px; }" +
+            "edge.sim75 { fill-color: #e67e22; stroke-color: #e67e22; stroke-mode: plain; size: 3px; }" +
+            "edge.sim60 { fill-color: #f1c40f; stroke-color: #f1c40f; stroke-mode: plain; size: 2px; }" +
+            "edge.sim45 { fill-color: #2ecc71; stroke-color: #2ecc71; stroke-mode: plain; size: 2px; }" +
+            "edge.sim0 { fill-color: #3498db; stroke-color: #3498db; stroke-mode: plain; size: 2px; }";
 
     private static final Map<String, String> LANGUAGE_NAMES = createLanguageMap();
 
@@ -0,0 +1,200 @@
+package com.language_proximity.utils;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Single-pass CSV tokenizer. Each record is unquoted into one reusable char buffer and fields are
+// exposed as offsets into it, so numbers can be parsed without building a String per field.
+public final class CsvReader implements Closeable {
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader in;
+    private final boolean trim;
+    private final char[] buf = new char[1 << 16];
+    private int pos, lim;
+
+    private char[] rec = new char[256];
+    private int recLen;
+    private int[] starts = new int[16], ends = new int[16];
+    private int count;
+
+    // Small intern table for repeated values such as language codes and topic names
+    private String[] pool = new String[256];
+    private int poolSize;
+
+    public CsvReader(Reader in, boolean trim) { this.in = in; this.trim = trim; }
+
+    public static CsvReader open(String path) throws IOException { return open(path, true); }
+
+    public static CsvReader open(String path, boolean trim) throws IOException {
+        return new CsvReader(new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8), trim);
+    }
+
+    public boolean next() throws IOException {
+        count = 0; recLen = 0;
+        int c = read();
+        while (c == '\n' || c == '\r') c = read();
+        if (c == -1) return false;
+
+        boolean quoted = false;
+        int fieldStart = 0;
+        while (true) {
+            if (quoted) {
+                if (c == -1) { endField(fieldStart); break; }
+                if (c == '"') {
+                    if (peek() == '"') { read(); append('"'); }
+                    else quoted = false;
+                } else append((char) c);
+            } else if (c == ',') {
+                endField(fieldStart); fieldStart = recLen;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r' && peek() == '\n') read();
+                endField(fieldStart);
+                break;
+            } else if (c == '"') {
+                quoted = true;
+            } else append((char) c);
+            c = read();
+        }
+        return true;
+    }
+
+    public int size() { return count; }
+
+    public boolean isEmpty(int i) { return starts[i] == ends[i]; }
+
+    public String getString(int i) { return new String(rec, starts[i], ends[i] - starts[i]); }
+
+    public String getPooled(int i) {
+        int s = starts[i], len = ends[i] - s, h = 0;
+        for (int k = s; k < s + len; k++) h = 31 * h + rec[k];
+        int mask = pool.length - 1;
+        for (int slot = (h ^ (h >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+            String p = pool[slot];
+            if (p == null) {
+                p = new String(rec, s, len);
+                pool[slot] = p;
+                if (++poolSize * 2 > pool.length) rehash();
+                return p;
+            }
+            if (p.length() == len && matches(p, s)) return p;
+        }
+    }
+
+    public boolean fieldEquals(int i, String value) {
+        return ends[i] - starts[i] == value.length() && matches(value, starts[i]);
+    }
+
+    public int getInt(int i) {
+        int p = starts[i], e = ends[i];
+        boolean neg = p < e && rec[p] == '-';
+        if (neg || (p < e && rec[p] == '+')) p++;
+        if (p == e || e - p > 9) return Integer.parseInt(getString(i));
+        int v = 0;
+        for (; p < e; p++) {
+            int d = rec[p] - '0';
+            if (d < 0 || d > 9) return Integer.parseInt(getString(i));
+            v = v * 10 + d;
+        }
+        return neg ? -v : v;
+    }
+
+    // Fast path for plain decimals whose mantissa fits in 53 bits: one exact multiply or divide, correctly rounded.
+    // Anything else falls back to Double.parseDouble.
+    public double getDouble(int i) {
+        int p = starts[i], e = ends[i];
+        boolean neg = p < e && rec[p] == '-';
+        if (neg || (p < e && rec[p] == '+')) p++;
+        long mant = 0;
+        int digits = 0, exp = 0;
+        boolean any = false;
+        for (; p < e && rec[p] >= '0' && rec[p] <= '9'; p++, any = true) {
+            mant = mant * 10 + (rec[p] - '0');
+            if (mant != 0) digits++;
+        }
+        if (p < e && rec[p] == '.') {
+            for (p++; p < e && rec[p] >= '0' && rec[p] <= '9'; p++, any = true) {
+                mant = mant * 10 + (rec[p] - '0');
+                if (mant != 0) digits++;
+                exp--;
+            }
+        }
+        if (any && p < e && (rec[p] == 'e' || rec[p] == 'E')) {
+            int q = p + 1;
+            boolean expNeg = q < e && rec[q] == '-';
+            if (expNeg || (q < e && rec[q] == '+')) q++;
+            int x = 0, start = q;
+            for (; q < e && rec[q] >= '0' && rec[q] <= '9' && x < 10000; q++) x = x * 10 + (rec[q] - '0');
+            if (q > start) { exp += expNeg ? -x : x; p = q; }
+        }
+        if (!any || p != e || digits > 18 || mant > (1L << 53) || exp < -22 || exp > 22) return Double.parseDouble(getString(i));
+        double v = exp < 0 ? mant / POW10[-exp] : mant * POW10[exp];
+        return neg ? -v : v;
+    }
+
+    public double getDouble(int i, double fallback) {
+        try { return getDouble(i); } catch (NumberFormatException e) { return fallback; }
+    }
+
+    @Override public void close() throws IOException { in.close(); }
+
+    private boolean matches(String s, int from) {
+        for (int k = 0; k < s.length(); k++) if (s.charAt(k) != rec[from + k]) return false;
+        return true;
+    }
+
+    private void rehash() {
+        String[] old = pool;
+        pool = new String[old.length * 2];
+        int mask = pool.length - 1;
+        for (String s : old) {
+            if (s == null) continue;
+            int h = s.hashCode(), slot = (h ^ (h >>> 16)) & mask;
+            while (pool[slot] != null) slot = (slot + 1) & mask;
+            pool[slot] = s;
+        }
+    }
+
+    private void endField(int fieldStart) {
+        int s = fieldStart, e = recLen;
+        if (trim) {
+            while (s < e && rec[s] <= ' ') s++;
+            while (e > s && rec[e - 1] <= ' ') e--;
+        }
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = s; ends[count++] = e;
+    }
+
+    private void append(char c) {
+        if (recLen == rec.length) rec = Arrays.copyOf(rec, recLen * 2);
+        rec[recLen++] = c;
+    }
+
+    private int read() throws IOException {
+        if (pos == lim && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == lim && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0; lim = n;
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.language_proximity.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import java.awt.*;
+
+// Event queue that times every EDT dispatch into the "edt.dispatch" histogram, plus a watchdog thread that reports
+// a dispatch still running after language_proximity.edt.stall.ms (default 200) with the EDT's stack at that moment.
+// Nested dispatch loops (modal dialogs) count as idle while they wait for input, so an open dialog is not a stall.
+public final class EdtMonitor extends EventQueue {
+    private static final long STALL_NS = Long.getLong("language_proximity.edt.stall.ms", 200) * 1_000_000;
+
+    @Name("com.language_proximity.EdtDispatch")
+    @Label("EDT Dispatch")
+    @Category("Language Proximity")
+    @Threshold("20 ms")
+    static final class DispatchEvent extends Event {
+        @Label("Event")
+        String eventType;
+    }
+
+    @Name("com.language_proximity.EdtStall")
+    @Label("EDT Stall")
+    @Category("Language Proximity")
+    static final class StallEvent extends Event {
+        @Label("Blocked (ms)")
+        long blockedMillis;
+        @Label("Stack")
+        String stack;
+    }
+
+    private volatile long dispatchStart;     // 0 while the EDT is idle
+    private volatile Thread edt;
+    private long reportedStart;              // watchdog thread only
+    private int depth;                       // EDT only
+    private boolean nestedLoop;              // EDT only: a nested dispatch ran inside the current one
+
+    private EdtMonitor() { }
+
+    public static void install() {
+        EdtMonitor monitor = new EdtMonitor();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        Thread watchdog = new Thread(monitor::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        if (edt == null) edt = Thread.currentThread();
+        long start = System.nanoTime();
+        DispatchEvent jfr = new DispatchEvent();
+        jfr.begin();
+        int outer = depth++;
+        boolean parentNested = nestedLoop;
+        nestedLoop = false;
+        dispatchStart = start;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long now = System.nanoTime(), took = now - start;
+            depth--;
+            boolean ranNested = nestedLoop;
+            nestedLoop = parentNested || outer > 0;
+            dispatchStart = outer > 0 ? now : 0;
+            // A dispatch that ran a modal loop mostly waited on the user; it stays out of the histogram. Stalls are
+            // reported once, by the watchdog, with the stack
+            if (!ranNested) Latency.record("edt.dispatch", took);
+            jfr.end();
+            if (jfr.shouldCommit()) { jfr.eventType = event.getClass().getName(); jfr.commit(); }
+        }
+    }
+
+    // A nested loop waiting for its next event is idle, not blocked
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        if (depth > 0) { nestedLoop = true; dispatchStart = 0; }
+        return super.getNextEvent();
+    }
+
+    private void watch() {
+        long period = Math.max(10, STALL_NS / 4_000_000);
+        while (true) {
+            try {
+                Thread.sleep(period);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = dispatchStart;
+            Thread t = edt;
+            if (start == 0 || t == null || start == reportedStart) continue;
+            long blocked = System.nanoTime() - start;
+            if (blocked < STALL_NS) continue;
+            reportedStart = start;
+
+            StringBuilder stack = new StringBuilder();
+            for (StackTraceElement e : t.getStackTrace()) stack.append("\tat ").append(e).append('\n');
+            System.err.print("EDT stalled for " + blocked / 1_000_000 + " ms in:\n" + stack);
+            Latency.record("edt.stall", blocked);
+            StallEvent jfr = new StallEvent();
+            jfr.blockedMillis = blocked / 1_000_000;
+            jfr.stack = stack.toString();
+            jfr.commit();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.language_proximity.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Named latency histograms for loader stages, view updates and EDT dispatch. Every timed stage also emits a
+// com.language_proximity.Stage JFR event, which costs next to nothing unless a recording is running
+// (-XX:StartFlightRecording). report() prints count and percentiles per stage.
+public final class Latency {
+    private static final Map<String, Histogram> STAGES = new ConcurrentHashMap<>();
+
+    private Latency() { }
+
+    @Name("com.language_proximity.Stage")
+    @Label("Stage")
+    @Category("Language Proximity")
+    static final class StageEvent extends Event {
+        @Label("Stage")
+        String stage;
+    }
+
+    public static void time(String stage, Runnable r) {
+        timed(stage, () -> { r.run(); return null; });
+    }
+
+    // Times the body as one occurrence of the stage and returns its result
+    public static <T> T timed(String stage, Supplier<T> body) {
+        long start = System.nanoTime();
+        StageEvent event = new StageEvent();
+        event.begin();
+        try {
+            return body.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) { event.stage = stage; event.commit(); }
+        }
+    }
+
+    public static void record(String stage, long nanos) {
+        STAGES.computeIfAbsent(stage, k -> new Histogram()).add(nanos);
+    }
+
+    public static void reset() { STAGES.clear(); }
+
+    // One line per stage, sorted by name; times in milliseconds
+    public static String report() {
+        List<String> names = new ArrayList<>(STAGES.keySet());
+        names.sort(null);
+        StringBuilder b = new StringBuilder(String.format(Locale.ROOT, "%-34s %8s %9s %9s %9s %9s %10s%n",
+                "stage", "count", "p50", "p90", "p99", "max", "total"));
+        for (String name : names) {
+            Histogram h = STAGES.get(name);
+            b.append(String.format(Locale.ROOT, "%-34s %8d %9.3f %9.3f %9.3f %9.3f %10.1f%n", name, h.count.sum(),
+                    h.percentile(0.50) / 1e3, h.percentile(0.90) / 1e3, h.percentile(0.99) / 1e3, h.max.get() / 1e3, h.total.sum() / 1e6));
+        }
+        return b.toString();
+    }
+
+    // Log-linear buckets over microseconds: exact below 32 us, then 32 sub-buckets per power of two (~3% error)
+    static final class Histogram {
+        private static final int SUB = 5, LINEAR = 1 << SUB;
+        private final AtomicLongArray counts = new AtomicLongArray(LINEAR * (64 - SUB + 1));
+        final LongAdder count = new LongAdder(), total = new LongAdder();   // total in nanoseconds
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);      // microseconds
+
+        void add(long nanos) {
+            long us = Math.max(0, nanos / 1000);
+            counts.incrementAndGet(bucket(us));
+            count.increment(); total.add(nanos); max.accumulate(us);
+        }
+
+        private static int bucket(long us) {
+            if (us < LINEAR) return (int) us;
+            int exp = 63 - Long.numberOfLeadingZeros(us);
+            return LINEAR * (exp - SUB + 1) + (int) ((us >>> (exp - SUB)) - LINEAR);
+        }
+
+        // Upper bound of the bucket's range, in microseconds
+        private static long upper(int bucket) {
+            if (bucket < LINEAR) return bucket;
+            int exp = bucket / LINEAR + SUB - 1;
+            return ((long) (bucket % LINEAR + LINEAR + 1) << (exp - SUB)) - 1;
+        }
+
+        long percentile(double p) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(p * n), seen = 0;
+            for (int b = 0; b < counts.length(); b++) {
+                seen += counts.get(b);
+                if (seen >= rank) return Math.min(upper(b), max.get());
+            }
+            return max.get();
+        }
+    }
+}
@@ -4,7 +4,15 @@ import javax.swing.*;
 import java.awt.*;
 
 public class UIUtils {
-    
+
+    public static final Color[] COMMUNITY_COLORS = {
+            new Color(230, 25, 75), new Color(60, 180, 75), new Color(255, 225, 25),
+            new Color(0, 130, 200), new Color(245, 130, 48), new Color(145, 30, 180),
+            new Color(70, 240, 240), new Color(240, 50, 230), new Color(210, 245, 60),
+            new Color(250, 190, 212), new Color(0, 128, 128), new Color(220, 190, 255),
+            new Color(170, 110, 40), new Color(255, 250, 200), new Color(128, 0, 0)
+    };
+
     public static JPanel createInfoPanel(String title, String text, Color textColor) {
         JPanel p = new JPanel(new BorderLayout());
         p.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
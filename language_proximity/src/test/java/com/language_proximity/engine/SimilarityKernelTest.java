@@ -0,0 +1,111 @@
+package com.language_proximity.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SimilarityKernelTest {
+
+    private static final double EMPTY = 1.0;
+    // Latin-1, IPA and supplementary code points so both the direct table and the hashed table are hit
+    private static final int[] ALPHABET = {'a', 'b', 'c', 'd', 'e', 0xE9, 0x0283, 0x0254, 0x1F600, 0x20000};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void emptyStrings() {
+        SimilarityKernel kernel = new SimilarityKernel(EMPTY);
+        int[] empty = {}, word = codePoints("abc");
+        assertEquals(0, kernel.distance(empty, empty));
+        assertEquals(3, kernel.distance(empty, word));
+        assertEquals(3, kernel.distance(word, empty));
+        assertEquals(EMPTY, kernel.similarity(empty, empty));
+        assertEquals(0.0, kernel.similarity(empty, word));
+        assertEquals(0.0, kernel.similarity(word, empty));
+    }
+
+    @Test
+    void wordBoundaryLengths() {
+        SimilarityKernel kernel = new SimilarityKernel(EMPTY);
+        int[] lengths = {1, 2, 63, 64, 65, 127, 128, 129, 200};
+        for (int m : lengths) {
+            for (int n : lengths) {
+                for (int i = 0; i < 5; i++) check(kernel, randomWord(m), randomWord(n));
+            }
+        }
+    }
+
+    @Test
+    void supplementaryCharacters() {
+        SimilarityKernel kernel = new SimilarityKernel(EMPTY);
+        check(kernel, codePoints("\uD83D\uDE00a"), codePoints("a\uD83D\uDE00"));
+        check(kernel, codePoints("\uD840\uDC00\uD840\uDC01"), codePoints("\uD840\uDC01"));
+        check(kernel, codePoints("\u0283\uD83D\uDE00"), codePoints("\uD83D\uDE00\u0283\u0254"));
+    }
+
+    @Test
+    void randomWords() {
+        SimilarityKernel kernel = new SimilarityKernel(EMPTY);
+        for (int i = 0; i < 2000; i++) check(kernel, randomWord(random.nextInt(80)), randomWord(random.nextInt(80)));
+    }
+
+    @Test
+    void scoreRowMatchesPairwise() {
+        SimilarityKernel kernel = new SimilarityKernel(EMPTY);
+        int languages = 6;
+        List<int[]> pairList = new ArrayList<>();
+        for (int i = 0; i < languages; i++) {
+            for (int j = i + 1; j < languages; j++) pairList.add(new int[]{i, j});
+        }
+        int[][] pairs = pairList.toArray(new int[0][]);
+        double[] scores = new double[pairs.length];
+        for (int row = 0; row < 200; row++) {
+            int[][] cells = new int[languages][];
+            for (int l = 0; l < languages; l++) cells[l] = randomWord(random.nextInt(140));
+            kernel.scoreRow(cells, pairs, scores);
+            for (int p = 0; p < pairs.length; p++) {
+                assertEquals(expected(cells[pairs[p][0]], cells[pairs[p][1]]), scores[p], 1e-12);
+            }
+        }
+    }
+
+    private void check(SimilarityKernel kernel, int[] a, int[] b) {
+        assertEquals(levenshtein(a, b), kernel.distance(a, b));
+        assertEquals(expected(a, b), kernel.similarity(a, b), 1e-12);
+    }
+
+    private static double expected(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) return a.length == b.length ? EMPTY : 0.0;
+        return 1.0 - (double) levenshtein(a, b) / Math.max(a.length, b.length);
+    }
+
+    private static int levenshtein(int[] a, int[] b) {
+        int[] prev = new int[b.length + 1], curr = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) prev[j] = j;
+        for (int i = 1; i <= a.length; i++) {
+            curr[0] = i;
+            for (int j = 1; j <= b.length; j++) {
+                int cost = a[i - 1] == b[j - 1] ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev; prev = curr; curr = t;
+        }
+        return prev[b.length];
+    }
+
+    private int[] randomWord(int length) {
+        // A small alphabet keeps the distances well below the lengths, which is where off-by-one carries show up
+        int size = 3 + random.nextInt(ALPHABET.length - 2);
+        int[] word = new int[length];
+        for (int i = 0; i < length; i++) word[i] = ALPHABET[random.nextInt(size)];
+        return word;
+    }
+
+    private static int[] codePoints(String s) {
+        return s.codePoints().toArray();
+    }
+}
@@ -0,0 +1,120 @@
+package com.language_proximity.bench;
+
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.LanguageMatrix;
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.service.DataManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+// Datasets shared by the benchmarks. "real" is the checked-in data/ (or -Dlanguage_proximity.data.dir); "x<k>" is a
+// synthetic copy with every topic repeated k times under new names ("animals #3"), written once under java.io.tmpdir,
+// so the per-topic files and word outliers grow k-fold while the language set stays the same.
+public final class BenchData {
+    static final String[] FILES = {"language_proximity_global", "language_proximity_by_topic", "outliers_words",
+            "outliers_topics", "language_communities", "topic_communities"};
+
+    private BenchData() { }
+
+    public static Path dir(String dataset) {
+        Path real = Paths.get(System.getProperty("bench.data.dir", System.getProperty("language_proximity.data.dir", "data")));
+        if (dataset.equals("real")) return real;
+        if (!dataset.matches("x\\d+")) throw new IllegalArgumentException("dataset must be 'real' or x<k>, got " + dataset);
+        int k = Integer.parseInt(dataset.substring(1));
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "language_proximity_bench", dataset);
+        try {
+            for (String suffix : new String[]{"_lexical", "_phonetic"}) {
+                for (String f : FILES) {
+                    Path target = dir.resolve(f + suffix + ".csv");
+                    if (!Files.isRegularFile(target)) scale(real.resolve(f + suffix + ".csv"), target, k, !f.equals("language_proximity_global"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dir;
+    }
+
+    // Points DataManager at the dataset and loads one mode from its CSVs. DataManager reads the directory once per
+    // JVM, which is fine because JMH runs every parameter combination in its own fork.
+    public static DatasetSnapshot load(String dataset, String suffix) {
+        System.setProperty("language_proximity.data.dir", dir(dataset).toString());
+        System.setProperty("language_proximity.binary", "false");
+        DataManager dm = new DataManager(256L << 20, false);
+        try {
+            dm.switchMode(suffix);
+            return dm.getSnapshot();
+        } finally {
+            dm.shutdown();
+        }
+    }
+
+    public static byte[] bytes(String dataset, String file) {
+        try {
+            return Files.readAllBytes(dir(dataset).resolve(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Complete matrix over n synthetic languages with reproducible similarities in [0, 1)
+    public static LanguageMatrix syntheticMatrix(int n) {
+        LanguageRegistry registry = new LanguageRegistry();
+        for (int i = 0; i < n; i++) registry.intern("l" + i);
+        LanguageMatrix.Builder b = new LanguageMatrix.Builder();
+        Random rnd = new Random(42);
+        for (int i = 0; i < n; i++) for (int j = i + 1; j < n; j++) b.add(i, j, rnd.nextDouble());
+        return b.build(registry);
+    }
+
+    // Rows keyed by the Global scope (and every row of the global file) are copied once, all others k times
+    private static void scale(Path source, Path target, int k, boolean byTopic) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedReader in = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if (header != null) { out.write(header); out.newLine(); }
+            for (String line; (line = in.readLine()) != null; ) {
+                int cut = firstFieldEnd(line);
+                String topic = line.substring(0, cut), rest = line.substring(cut);
+                boolean once = !byTopic || topic.equals("Global");
+                for (int i = 0; i < (once ? 1 : k); i++) {
+                    out.write(i == 0 ? topic : rename(topic, i));
+                    out.write(rest);
+                    out.newLine();
+                }
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int firstFieldEnd(String line) {
+        if (!line.startsWith("\"")) {
+            int comma = line.indexOf(',');
+            return comma < 0 ? line.length() : comma;
+        }
+        int i = 1;
+        while (i < line.length()) {
+            if (line.charAt(i) == '"') {
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"') i += 2;
+                else return i + 1;
+            } else i++;
+        }
+        return line.length();
+    }
+
+    private static String rename(String topic, int i) {
+        if (topic.endsWith("\"")) return topic.substring(0, topic.length() - 1) + " #" + i + "\"";
+        return topic + " #" + i;
+    }
+}
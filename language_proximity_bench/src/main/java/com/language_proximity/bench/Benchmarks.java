@@ -0,0 +1,26 @@
+package com.language_proximity.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+// Entry point of benchmarks.jar: the usual JMH command line, always with the GC profiler so every result carries its
+// allocation rate (gc.alloc.rate.norm = bytes per operation). Run from the project root so the real data/ is found:
+//   java -jar language_proximity_bench/target/benchmarks.jar [regexp] [-p dataset=real,x8] [jmh options]
+public class Benchmarks {
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        Runner runner = new Runner(new OptionsBuilder().parent(cli).addProfiler(GCProfiler.class).build());
+        if (cli.shouldList()) runner.list();
+        else runner.run();
+    }
+}
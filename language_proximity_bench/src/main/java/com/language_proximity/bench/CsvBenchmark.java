@@ -0,0 +1,85 @@
+package com.language_proximity.bench;
+
+import com.language_proximity.model.LanguageRegistry;
+import com.language_proximity.model.TopicOutlierRecord;
+import com.language_proximity.model.WordOutlierStore;
+import com.language_proximity.utils.CsvReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-line CSV work on in-memory copies of the outlier files, so disk and page cache stay out of the numbers:
+// bare tokenizing, reading every field, and the record builders the loaders feed each line to
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvBenchmark {
+    @Param({"real", "x8"})
+    public String dataset;
+
+    @Param({"_lexical", "_phonetic"})
+    public String suffix;
+
+    private byte[] words, topics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = BenchData.bytes(dataset, "outliers_words" + suffix + ".csv");
+        topics = BenchData.bytes(dataset, "outliers_topics" + suffix + ".csv");
+    }
+
+    private static CsvReader reader(byte[] data) throws IOException {
+        CsvReader r = new CsvReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8), true);
+        r.next();   // header
+        return r;
+    }
+
+    @Benchmark
+    public int tokenizeWordLines() throws IOException {
+        int fields = 0;
+        try (CsvReader r = reader(words)) {
+            while (r.next()) fields += r.size();
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public void readWordFields(Blackhole bh) throws IOException {
+        try (CsvReader r = reader(words)) {
+            while (r.next()) {
+                for (int i = 0; i < 6; i++) bh.consume(r.getPooled(i));
+                for (int i = 6; i < 10; i++) bh.consume(r.getDouble(i, 0.0));
+                bh.consume(r.getPooled(10));
+            }
+        }
+    }
+
+    @Benchmark
+    public WordOutlierStore buildWordOutlierStore() throws IOException {
+        LanguageRegistry registry = new LanguageRegistry();
+        WordOutlierStore.Builder b = new WordOutlierStore.Builder();
+        try (CsvReader r = reader(words)) {
+            while (r.next()) if (r.size() >= 11) b.add(r, registry);
+        }
+        return b.build(registry);
+    }
+
+    @Benchmark
+    public List<TopicOutlierRecord> topicOutlierRecords() throws IOException {
+        List<TopicOutlierRecord> l = new ArrayList<>();
+        try (CsvReader r = reader(topics)) {
+            while (r.next()) if (r.size() >= 10) l.add(new TopicOutlierRecord(r));
+        }
+        return l;
+    }
+}
@@ -0,0 +1,51 @@
+package com.language_proximity.bench;
+
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.service.DataManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Full DataManager.reloadAllData per mode: binary=false parses every CSV, binary=true reads the snapshot file that an
+// earlier CSV load left behind
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+    @Param({"real", "x8"})
+    public String dataset;
+
+    @Param({"_lexical", "_phonetic"})
+    public String suffix;
+
+    @Param({"false", "true"})
+    public String binary;
+
+    private DataManager dm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("language_proximity.data.dir", BenchData.dir(dataset).toString());
+        System.setProperty("language_proximity.preload", "false");
+        System.setProperty("language_proximity.binary", binary);
+        if (binary.equals("true")) {
+            // The snapshot file is written in the background; shutdown waits for it
+            DataManager writer = new DataManager();
+            writer.reloadAllData(suffix);
+            writer.shutdown();
+        }
+        dm = new DataManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { dm.shutdown(); }
+
+    @Benchmark
+    public DatasetSnapshot reloadAllData() {
+        dm.reloadAllData(suffix);
+        return dm.getSnapshot();
+    }
+}
@@ -0,0 +1,76 @@
+package com.language_proximity.ui.components;
+
+import com.language_proximity.bench.BenchData;
+import com.language_proximity.model.DatasetSnapshot;
+import com.language_proximity.model.TopicOutlierRecord;
+import com.language_proximity.model.WordOutlierView;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Outlier panels without a screen: OutlierBarChartPanel.updateData over every word outlier, and
+// OutlierHeatmapPanel painted into a window-sized offscreen image, both with its tile cache dropped by updateData
+// (first paint after a scope change) and with the tiles already cached (scrolling and hover repaints)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class OutlierPanelsBenchmark {
+    private static final int VIEW_W = 1600, VIEW_H = 900;
+
+    @Param({"real", "x8"})
+    public String dataset;
+
+    @Param({"_lexical", "_phonetic"})
+    public String suffix;
+
+    private WordOutlierView words;
+    private List<TopicOutlierRecord> topics;
+    private OutlierBarChartPanel barChart;
+    private OutlierHeatmapPanel heatmap;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatasetSnapshot s = BenchData.load(dataset, suffix);
+        words = s.getWordOutliers().all();
+        topics = s.getTopicOutlierData();
+        barChart = new OutlierBarChartPanel();
+        heatmap = new OutlierHeatmapPanel();
+        heatmap.updateData(topics);
+        Dimension size = heatmap.getPreferredSize();
+        heatmap.setSize(Math.max(size.width, VIEW_W), Math.max(size.height, VIEW_H));
+        image = new BufferedImage(VIEW_W, VIEW_H, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { g.dispose(); }
+
+    @Benchmark
+    public OutlierBarChartPanel barChartUpdateData() {
+        barChart.updateData(words);
+        return barChart;
+    }
+
+    @Benchmark
+    public BufferedImage heatmapPaintCold() {
+        heatmap.updateData(topics);
+        g.setClip(0, 0, VIEW_W, VIEW_H);
+        heatmap.paintComponent(g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage heatmapPaintCached() {
+        g.setClip(0, 0, VIEW_W, VIEW_H);
+        heatmap.paintComponent(g);
+        return image;
+    }
+}
@@ -0,0 +1,45 @@
+package com.language_proximity.ui.panels;
+
+import com.language_proximity.bench.BenchData;
+import com.language_proximity.model.LanguageMatrix;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// HeatmapTableModel as JTable drives it: a full getValueAt sweep (one per repaint of the whole table) and the
+// setData rebuild behind every scope change. "real" is the global matrix of the data set, numbers are synthetic
+// complete matrices over that many languages.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class HeatmapModelBenchmark {
+    @Param({"real", "64", "256"})
+    public String languages;
+
+    private LanguageMatrix matrix;
+    private HeatmapPanel.HeatmapTableModel model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matrix = languages.equals("real") ? BenchData.load("real", "_lexical").getGlobalMatrix()
+                : BenchData.syntheticMatrix(Integer.parseInt(languages));
+        model = new HeatmapPanel.HeatmapTableModel();
+        model.setData(matrix);
+    }
+
+    @Benchmark
+    public void getValueAtSweep(Blackhole bh) {
+        int rows = model.getRowCount(), cols = model.getColumnCount();
+        for (int r = 0; r < rows; r++) for (int c = 0; c < cols; c++) bh.consume(model.getValueAt(r, c));
+    }
+
+    @Benchmark
+    public void setData(Blackhole bh) {
+        model.setData(matrix);
+        bh.consume(model);
+    }
+}